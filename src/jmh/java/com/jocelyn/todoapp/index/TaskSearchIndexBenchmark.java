@@ -0,0 +1,100 @@
+package com.jocelyn.todoapp.index;
+
+import com.jocelyn.todoapp.model.Priority;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import com.jocelyn.todoapp.repository.TaskSearchRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Limit;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TaskSearchIndexBenchmark {
+
+    private static final String[] WORDS = {
+            "meeting", "report", "invoice", "groceries", "dentist", "deploy", "review", "budget",
+            "call", "email", "plan", "design", "release", "travel", "birthday", "gym", "doctor",
+            "quarterly", "roadmap", "backlog", "sprint", "retro", "hiring", "interview", "taxes"
+    };
+
+    @Param({"100000", "1000000"})
+    public int size;
+
+    private TaskSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void buildIndex() {
+        index = new TaskSearchIndex(rowsRepository(size));
+        index.rebuild();
+    }
+
+    @Benchmark
+    public TaskSearchIndex.Result singleTerm() {
+        return index.search("meeting", null, null, null, 50);
+    }
+
+    @Benchmark
+    public TaskSearchIndex.Result twoTermsWithPrefix() {
+        return index.search("quarterly rep", null, null, null, 50);
+    }
+
+    @Benchmark
+    public TaskSearchIndex.Result filteredByListAndPriority() {
+        return index.search("budget review", 7L, Priority.HIGH, false, 50);
+    }
+
+    private static TaskRepository rowsRepository(int count) {
+        return (TaskRepository) Proxy.newProxyInstance(TaskRepository.class.getClassLoader(),
+                new Class<?>[]{TaskRepository.class},
+                (proxy, method, args) -> {
+                    if (!method.getName().equals("findSearchRowsAfter")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    long afterId = (Long) args[0];
+                    int limit = ((Limit) args[1]).max();
+                    List<TaskSearchRow> rows = new ArrayList<>(limit);
+                    for (long id = afterId + 1; id <= count && rows.size() < limit; id++) {
+                        rows.add(row(id));
+                    }
+                    return rows;
+                });
+    }
+
+    private static TaskSearchRow row(long id) {
+        Random random = new Random(id);
+        return new TaskSearchRow(id, id % 50, Priority.values()[(int) (id % Priority.values().length)], id % 3 == 0,
+                sentence(random, 4), sentence(random, 30), sentence(random, 12), LocalDateTime.now());
+    }
+
+    private static String sentence(Random random, int words) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            if (random.nextInt(4) == 0) {
+                text.append("item").append(random.nextInt(100_000)).append(' ');
+            }
+        }
+        return text.toString();
+    }
+}
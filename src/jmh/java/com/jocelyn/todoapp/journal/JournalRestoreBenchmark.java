@@ -0,0 +1,128 @@
+package com.jocelyn.todoapp.journal;
+
+import com.jocelyn.todoapp.config.JournalProperties;
+import com.jocelyn.todoapp.model.Task;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to start on an empty database from a journal holding {@code tasks} task inserts and no
+ * snapshot, the worst case for a restart. The durable profile targets under a second per million
+ * tasks.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class JournalRestoreBenchmark {
+
+    private static final int TASKS_PER_TRANSACTION = 10_000;
+
+    @Param({"100000", "1000000"})
+    private int tasks;
+
+    private Path directory;
+    private JdbcDataSource database;
+    private JournalStore restored;
+
+    @Setup(Level.Trial)
+    public void writeJournal() throws IOException {
+        directory = Files.createTempDirectory("journal-benchmark");
+        JdbcDataSource source = newDatabase();
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(source);
+        JournalStore store = new JournalStore(source, properties(), transactionManager);
+        store.start();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(source);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("""
+                INSERT INTO task_lists (id, name, is_system_defined, deleting, data_version, created_at, updated_at)
+                VALUES (1, 'Benchmark', FALSE, FALSE, 0, ?, ?)
+                """, now, now);
+        for (int from = 1; from <= tasks; from += TASKS_PER_TRANSACTION) {
+            List<Object[]> rows = new ArrayList<>(TASKS_PER_TRANSACTION);
+            for (int id = from; id < from + TASKS_PER_TRANSACTION && id <= tasks; id++) {
+                rows.add(new Object[]{id, "Task " + id, id % 3 == 0, "MEDIUM", Task.ROOT_PATH, now, now});
+            }
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate("""
+                    INSERT INTO tasks (id, title, completed, priority, list_id, path, depth, version,
+                                       created_at, updated_at)
+                    VALUES (?, ?, ?, ?, 1, ?, 0, 0, ?, ?)
+                    """, rows));
+        }
+        // Leave the journal as a crash would: no closing snapshot. The source database is dropped
+        // so that it does not share the heap with the databases being restored.
+        JournalTrigger.detach(store);
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+
+    @Setup(Level.Invocation)
+    public void emptyDatabase() {
+        database = newDatabase();
+        restored = new JournalStore(database, properties(), new DataSourceTransactionManager(database));
+    }
+
+    @Benchmark
+    public JournalStore restore() {
+        restored.start();
+        return restored;
+    }
+
+    @TearDown(Level.Invocation)
+    public void dropDatabase() {
+        JournalTrigger.detach(restored);
+        new JdbcTemplate(database).execute("SHUTDOWN");
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    private JournalProperties properties() {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        properties.setSegmentSize(DataSize.ofMegabytes(64));
+        return properties;
+    }
+
+    private static JdbcDataSource newDatabase() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:journal-benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        return dataSource;
+    }
+}
@@ -0,0 +1,106 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.ToDoAppApplication;
+import com.jocelyn.todoapp.dto.TaskBatchCreateRequest;
+import com.jocelyn.todoapp.dto.TaskBatchCreateResponse;
+import com.jocelyn.todoapp.dto.TaskBatchItem;
+import com.jocelyn.todoapp.dto.TaskListRequest;
+import com.jocelyn.todoapp.dto.TaskRequest;
+import com.jocelyn.todoapp.model.Priority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tasks created per second through {@link TaskService#create} one at a time versus
+ * {@link TaskService#createBatch}, for a batch of {@value #BATCH_SIZE} tasks where every second
+ * task is a child of an earlier one.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskBatchCreateBenchmark {
+
+    private static final int BATCH_SIZE = 200;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long listId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplication application = new SpringApplication(ToDoAppApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=jdbc:h2:mem:batch-benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+
+        TaskListRequest listRequest = new TaskListRequest();
+        listRequest.setName("Batch benchmark");
+        listId = context.getBean(TaskListService.class).create(listRequest).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void singleCreate(Blackhole blackhole) {
+        Long[] ids = new Long[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            TaskRequest request = new TaskRequest();
+            fill(request, i);
+            request.setParentTaskId(i % 2 == 1 ? ids[i / 2] : null);
+            ids[i] = taskService.create(request).getId();
+        }
+        blackhole.consume(ids);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public TaskBatchCreateResponse batchCreate() {
+        List<TaskBatchItem> items = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            TaskBatchItem item = new TaskBatchItem();
+            fill(item, i);
+            item.setTempId("t" + i);
+            item.setParentTempId(i % 2 == 1 ? "t" + i / 2 : null);
+            items.add(item);
+        }
+        TaskBatchCreateRequest request = new TaskBatchCreateRequest();
+        request.setTasks(items);
+        return taskService.createBatch(request);
+    }
+
+    private void fill(TaskRequest request, int i) {
+        request.setTitle("Task " + i);
+        request.setDescription("Batch benchmark task " + i);
+        request.setPriority(Priority.values()[i % Priority.values().length]);
+        request.setListId(listId);
+    }
+}
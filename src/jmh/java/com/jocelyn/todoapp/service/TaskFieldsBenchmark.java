@@ -0,0 +1,130 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.ToDoAppApplication;
+import com.jocelyn.todoapp.dto.TaskListRequest;
+import com.jocelyn.todoapp.dto.TaskRequest;
+import com.jocelyn.todoapp.model.Priority;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the list, tree and "all" smart-view reads including JSON serialization, for the
+ * full representation versus a board-style {@code fields=} selection. The serialized size of each
+ * response is reported next to the latency as the {@code payloadBytes} secondary result.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskFieldsBenchmark {
+
+    private static final int TASK_COUNT = 2000;
+    private static final int PAGE_SIZE = 200;
+    private static final int LONG_TEXT_LENGTH = 2000;
+
+    @Param({"", "title,completed,dueDate,priority"})
+    public String fields;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private JsonMapper jsonMapper;
+    private Long listId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplication application = new SpringApplication(ToDoAppApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=jdbc:h2:mem:fields-benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+        jsonMapper = context.getBean(JsonMapper.class);
+
+        TaskListRequest listRequest = new TaskListRequest();
+        listRequest.setName("Fields benchmark " + fields);
+        listId = context.getBean(TaskListService.class).create(listRequest).getId();
+
+        String text = "x".repeat(LONG_TEXT_LENGTH);
+        LocalDate today = LocalDate.now();
+        Long[] ids = new Long[TASK_COUNT];
+        for (int i = 0; i < TASK_COUNT; i++) {
+            TaskRequest request = new TaskRequest();
+            request.setTitle("Task " + i);
+            request.setDescription(text);
+            request.setNotes(text);
+            request.setLocation("Room " + i);
+            request.setMeetingLink("https://meet.example.com/" + i);
+            request.setCompleted(i % 3 == 0);
+            request.setDueDate(today.plusDays(i % 15 - 7));
+            request.setPriority(Priority.values()[i % Priority.values().length]);
+            request.setListId(listId);
+            request.setParentTaskId(i % 10 == 0 ? null : ids[i - i % 10]);
+            ids[i] = taskService.create(request).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] listPage(PayloadSize payload) {
+        return payload.record(jsonMapper.writeValueAsBytes(taskService.getByList(listId, null, PAGE_SIZE, fields)));
+    }
+
+    @Benchmark
+    public byte[] tree(PayloadSize payload) {
+        return payload.record(jsonMapper.writeValueAsBytes(taskService.getTreeByList(listId, fields)));
+    }
+
+    @Benchmark
+    public byte[] smartViewAll(PayloadSize payload) {
+        return payload.record(jsonMapper.writeValueAsBytes(taskService.getSmartView("all", null, PAGE_SIZE, fields)));
+    }
+
+    /**
+     * Size of the last serialized response. Every call of a benchmark returns the same payload,
+     * so the value JMH reads at the end of an iteration is the size of one response. JMH sums
+     * event counters over the measurement iterations, so the reported {@code payloadBytes} is
+     * that size times the iteration count.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadSize {
+
+        public long payloadBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            payloadBytes = 0;
+        }
+
+        byte[] record(byte[] payload) {
+            payloadBytes = payload.length;
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.ToDoAppApplication;
+import com.jocelyn.todoapp.dto.PageResponse;
+import com.jocelyn.todoapp.dto.TaskDeleteResponse;
+import com.jocelyn.todoapp.dto.TaskListRequest;
+import com.jocelyn.todoapp.dto.TaskMoveRequest;
+import com.jocelyn.todoapp.dto.TaskRequest;
+import com.jocelyn.todoapp.dto.TaskResponse;
+import com.jocelyn.todoapp.model.Priority;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskServiceBenchmark {
+
+    private static final int SUBTREE_SIZE = 100;
+
+    @Param({"1000", "10000"})
+    public int size;
+
+    @Param({"WIDE", "DEEP"})
+    public TaskShape shape;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private Long listId;
+    private Long movedTaskId;
+    private Long[] moveTargets;
+    private int moveCount;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        SpringApplication application = new SpringApplication(ToDoAppApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run(
+                "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN");
+        taskService = context.getBean(TaskService.class);
+
+        TaskListRequest listRequest = new TaskListRequest();
+        listRequest.setName("Benchmark " + shape + " " + size);
+        listId = context.getBean(TaskListService.class).create(listRequest).getId();
+
+        Long[] ids = createTasks(size, shape);
+        int deepest = shape == TaskShape.DEEP ? Math.min(size, 200) - 1 : Math.min(size, 100) - 1;
+        movedTaskId = ids[deepest / 2];
+        moveTargets = new Long[]{ids[deepest / 2 - 1], ids[size - 1]};
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public PageResponse<TaskResponse> smartViewToday() {
+        return taskService.getSmartView("today", null, null);
+    }
+
+    @Benchmark
+    public PageResponse<TaskResponse> smartViewOverdue() {
+        return taskService.getSmartView("overdue", null, null);
+    }
+
+    @Benchmark
+    public List<TaskResponse> treeByList() {
+        return taskService.getTreeByList(listId);
+    }
+
+    @Benchmark
+    public TaskResponse moveWithCycleCheck() {
+        TaskMoveRequest request = new TaskMoveRequest();
+        request.setListId(listId);
+        request.setParentTaskId(moveTargets[moveCount++ % moveTargets.length]);
+        return taskService.move(movedTaskId, request);
+    }
+
+    @Benchmark
+    public TaskDeleteResponse deleteSubtree(Subtree subtree) {
+        return taskService.delete(subtree.rootId);
+    }
+
+    private Long[] createTasks(int count, TaskShape taskShape) {
+        LocalDate today = LocalDate.now();
+        Long[] ids = new Long[count];
+        for (int i = 0; i < count; i++) {
+            int parent = taskShape.parentIndex(i);
+            TaskRequest request = new TaskRequest();
+            request.setTitle("Task " + i);
+            request.setDescription("Benchmark task " + i);
+            request.setCompleted(i % 3 == 0);
+            request.setDueDate(today.plusDays(i % 15 - 7));
+            request.setPriority(Priority.values()[i % Priority.values().length]);
+            request.setListId(listId);
+            request.setParentTaskId(parent >= 0 ? ids[parent] : null);
+            ids[i] = taskService.create(request).getId();
+        }
+        return ids;
+    }
+
+    @State(Scope.Thread)
+    public static class Subtree {
+
+        private Long rootId;
+
+        @Setup(Level.Invocation)
+        public void create(TaskServiceBenchmark benchmark) {
+            rootId = benchmark.createTasks(SUBTREE_SIZE, benchmark.shape)[0];
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.jocelyn.todoapp.service;
+
+public enum TaskShape {
+    WIDE(100),
+    DEEP(200);
+
+    private final int groupSize;
+
+    TaskShape(int groupSize) {
+        this.groupSize = groupSize;
+    }
+
+    public int parentIndex(int index) {
+        int offset = index % groupSize;
+        if (offset == 0) {
+            return -1;
+        }
+        return this == WIDE ? index - offset : index - 1;
+    }
+}
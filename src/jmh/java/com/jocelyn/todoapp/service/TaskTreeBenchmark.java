@@ -0,0 +1,62 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.dto.TaskResponse;
+import com.jocelyn.todoapp.model.Priority;
+import com.jocelyn.todoapp.repository.TaskRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TaskTreeBenchmark {
+
+    @Param({"1000", "50000"})
+    public int size;
+
+    @Param({"WIDE", "DEEP"})
+    public TaskShape shape;
+
+    private List<TaskRow> rows;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        int[] depths = new int[size];
+        for (int i = 0; i < size; i++) {
+            int parent = shape.parentIndex(i);
+            depths[i] = parent >= 0 ? depths[parent] + 1 : 0;
+        }
+
+        rows = new ArrayList<>(size);
+        for (int i = size - 1; i >= 0; i--) {
+            int parent = shape.parentIndex(i);
+            LocalDateTime createdAt = base.plusSeconds(i);
+            rows.add(new TaskRow((long) i + 1, 1L, parent >= 0 ? (long) parent + 1 : null,
+                    "Task " + i, "Description " + i, i % 3 == 0, null, Priority.MEDIUM,
+                    null, null, null, depths[i], createdAt, createdAt, 0L));
+        }
+    }
+
+    @Benchmark
+    public List<TaskResponse> buildTree() {
+        return TaskTreeBuilder.build(rows);
+    }
+}
@@ -0,0 +1,88 @@
+package com.jocelyn.todoapp.concurrency;
+
+import com.jocelyn.todoapp.config.ConcurrencyProperties;
+import com.jocelyn.todoapp.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the number of requests that may work against the database at once so that
+ * virtual threads queue here instead of inside the connection pool.
+ */
+public class DatabaseConcurrencyLimiter implements HandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = DatabaseConcurrencyLimiter.class.getName() + ".permit";
+
+    private final Semaphore permits;
+    private final long maxQueueNanos;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Timer acquiredTimer;
+    private final Timer rejectedTimer;
+    private final Counter rejectedCounter;
+
+    public DatabaseConcurrencyLimiter(ConcurrencyProperties properties, MeterRegistry meterRegistry) {
+        int maxConcurrent = properties.getMaxConcurrentRequests();
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxQueueNanos = properties.getMaxQueueTime().toNanos();
+        this.acquiredTimer = Timer.builder("todoapp.concurrency.queue.time")
+                .description("Time requests waited for a database permit")
+                .tag("outcome", "acquired")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedTimer = Timer.builder("todoapp.concurrency.queue.time")
+                .description("Time requests waited for a database permit")
+                .tag("outcome", "rejected")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = meterRegistry.counter("todoapp.concurrency.rejected");
+        Gauge.builder("todoapp.concurrency.limit", () -> maxConcurrent).register(meterRegistry);
+        meterRegistry.gauge("todoapp.concurrency.active", permits, p -> maxConcurrent - p.availablePermits());
+        meterRegistry.gauge("todoapp.concurrency.waiting", waiting);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            return true;
+        }
+
+        long start = System.nanoTime();
+        waiting.incrementAndGet();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxQueueNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+
+        long queued = System.nanoTime() - start;
+        if (!acquired) {
+            rejectedTimer.record(queued, TimeUnit.NANOSECONDS);
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Server is busy, please retry shortly");
+        }
+        acquiredTimer.record(queued, TimeUnit.NANOSECONDS);
+        request.setAttribute(PERMIT_ATTRIBUTE, Boolean.TRUE);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(PERMIT_ATTRIBUTE) != null) {
+            request.removeAttribute(PERMIT_ATTRIBUTE);
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.jocelyn.todoapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todoapp.archive")
+public class ArchiveProperties {
+    private boolean enabled = true;
+    private Duration completedAge = Duration.ofDays(90);
+    private Duration interval = Duration.ofHours(1);
+    private int rootsPerTransaction = 100;
+}
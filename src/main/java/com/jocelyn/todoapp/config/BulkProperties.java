@@ -0,0 +1,14 @@
+package com.jocelyn.todoapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todoapp.bulk")
+public class BulkProperties {
+    private int maxTasks = 10000;
+    private int statementChunkSize = 1000;
+    private int maxBatchCreate = 500;
+}
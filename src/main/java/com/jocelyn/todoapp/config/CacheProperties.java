@@ -0,0 +1,12 @@
+package com.jocelyn.todoapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todoapp.cache")
+public class CacheProperties {
+    private int taskListsMaxSize = 1000;
+}
@@ -0,0 +1,17 @@
+package com.jocelyn.todoapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todoapp.feed")
+public class ChangeFeedProperties {
+    private int bufferSize = 256;
+    private int maxSubscribers = 10000;
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    private Duration timeout = Duration.ofMinutes(30);
+}
@@ -0,0 +1,16 @@
+package com.jocelyn.todoapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todoapp.concurrency")
+public class ConcurrencyProperties {
+    private boolean enabled = false;
+    private int maxConcurrentRequests = 10;
+    private Duration maxQueueTime = Duration.ofMillis(500);
+}
@@ -2,6 +2,7 @@ package com.jocelyn.todoapp.config;
 
 import com.jocelyn.todoapp.model.TaskList;
 import com.jocelyn.todoapp.repository.TaskListRepository;
+import com.jocelyn.todoapp.service.TaskListCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
@@ -13,18 +14,23 @@ import java.util.List;
 public class DataInitializer implements CommandLineRunner {
 
     private final TaskListRepository taskListRepository;
+    private final TaskListCache taskListCache;
 
     @Override
     public void run(String... args) {
         List<String> systemLists = List.of("Shopping", "Personal", "Work");
         for (String name : systemLists) {
             taskListRepository.findByNameIgnoreCase(name)
-                    .orElseGet(() -> taskListRepository.save(
-                            TaskList.builder()
-                                    .name(name)
-                                    .systemDefined(true)
-                                    .build()
-                    ));
+                    .orElseGet(() -> {
+                        TaskList saved = taskListRepository.save(
+                                TaskList.builder()
+                                        .name(name)
+                                        .systemDefined(true)
+                                        .build()
+                        );
+                        taskListCache.put(saved);
+                        return saved;
+                    });
         }
     }
 }
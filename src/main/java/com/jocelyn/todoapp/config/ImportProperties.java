@@ -0,0 +1,16 @@
+package com.jocelyn.todoapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todoapp.import")
+public class ImportProperties {
+    private int chunkSize = 500;
+    private boolean createMissingLists = false;
+    private Path spoolDirectory = Path.of(System.getProperty("java.io.tmpdir"), "todoapp-imports");
+}
@@ -0,0 +1,20 @@
+package com.jocelyn.todoapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todoapp.journal")
+public class JournalProperties {
+    private boolean enabled = false;
+    private Path directory = Path.of("data", "journal");
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+    private boolean syncOnCommit = false;
+}
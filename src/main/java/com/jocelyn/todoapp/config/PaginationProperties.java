@@ -0,0 +1,13 @@
+package com.jocelyn.todoapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todoapp.pagination")
+public class PaginationProperties {
+    private int defaultSize = 50;
+    private int maxSize = 500;
+}
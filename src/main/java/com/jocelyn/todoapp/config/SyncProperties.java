@@ -0,0 +1,17 @@
+package com.jocelyn.todoapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todoapp.sync")
+public class SyncProperties {
+    private Duration settleTime = Duration.ofSeconds(2);
+    private Duration maxTransactionDuration = Duration.ofSeconds(1);
+    private Duration tombstoneRetention = Duration.ofDays(30);
+    private Duration compactionInterval = Duration.ofHours(1);
+}
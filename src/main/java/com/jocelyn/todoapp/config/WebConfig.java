@@ -0,0 +1,31 @@
+package com.jocelyn.todoapp.config;
+
+import com.jocelyn.todoapp.concurrency.DatabaseConcurrencyLimiter;
+import com.jocelyn.todoapp.writebehind.ReadYourWritesInterceptor;
+import com.jocelyn.todoapp.writebehind.TaskWriteBuffer;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyProperties concurrencyProperties;
+    private final MeterRegistry meterRegistry;
+    private final TaskWriteBuffer taskWriteBuffer;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (concurrencyProperties.isEnabled()) {
+            registry.addInterceptor(new DatabaseConcurrencyLimiter(concurrencyProperties, meterRegistry))
+                    .addPathPatterns("/api/tasks/**", "/api/lists/**");
+        }
+        if (taskWriteBuffer.isEnabled()) {
+            registry.addInterceptor(new ReadYourWritesInterceptor(taskWriteBuffer))
+                    .addPathPatterns("/api/tasks/**", "/api/lists/**");
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.jocelyn.todoapp.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "todoapp.write-behind")
+public class WriteBehindProperties {
+    private boolean enabled = false;
+    private Duration flushInterval = Duration.ofMillis(250);
+    private int maxPending = 5000;
+}
@@ -0,0 +1,62 @@
+package com.jocelyn.todoapp.controller;
+
+import com.jocelyn.todoapp.dto.CacheStatsResponse;
+import com.jocelyn.todoapp.dto.IndexConsistencyResponse;
+import com.jocelyn.todoapp.index.DueDateIndex;
+import com.jocelyn.todoapp.index.TaskListCounters;
+import com.jocelyn.todoapp.index.TaskSearchIndex;
+import com.jocelyn.todoapp.service.TaskArchiveService;
+import com.jocelyn.todoapp.service.TaskListCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final TaskListCache taskListCache;
+    private final DueDateIndex dueDateIndex;
+    private final TaskListCounters taskListCounters;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskArchiveService taskArchiveService;
+
+    @GetMapping("/caches/task-lists")
+    public CacheStatsResponse getTaskListCacheStats() {
+        return taskListCache.stats();
+    }
+
+    @GetMapping("/indexes/due-date/consistency")
+    public IndexConsistencyResponse checkDueDateIndex() {
+        return dueDateIndex.checkConsistency();
+    }
+
+    @PostMapping("/indexes/due-date/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuildDueDateIndex() {
+        dueDateIndex.rebuild();
+    }
+
+    @PostMapping("/lists/counters/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuildListCounters() {
+        taskListCounters.rebuild();
+    }
+
+    @PostMapping("/indexes/search/rebuild")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void rebuildSearchIndex() {
+        taskSearchIndex.rebuild();
+    }
+
+    @PostMapping("/archive/run")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void runArchive() {
+        taskArchiveService.archiveCompleted();
+    }
+}
@@ -0,0 +1,34 @@
+package com.jocelyn.todoapp.controller;
+
+import com.jocelyn.todoapp.dto.ArchivedTaskResponse;
+import com.jocelyn.todoapp.dto.PageResponse;
+import com.jocelyn.todoapp.dto.TaskResponse;
+import com.jocelyn.todoapp.service.TaskArchiveService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/archive/tasks")
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private final TaskArchiveService taskArchiveService;
+
+    @GetMapping
+    public PageResponse<ArchivedTaskResponse> search(@RequestParam(required = false) Long listId,
+                                                     @RequestParam(required = false) String q,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size) {
+        return taskArchiveService.search(listId, q, cursor, size);
+    }
+
+    @PostMapping("/{id}/restore")
+    public TaskResponse restore(@PathVariable Long id) {
+        return taskArchiveService.restore(id);
+    }
+}
@@ -0,0 +1,23 @@
+package com.jocelyn.todoapp.controller;
+
+import com.jocelyn.todoapp.feed.ChangeFeedBroker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private final ChangeFeedBroker changeFeedBroker;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) Long listId) {
+        return changeFeedBroker.subscribe(listId);
+    }
+}
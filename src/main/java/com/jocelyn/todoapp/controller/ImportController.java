@@ -0,0 +1,54 @@
+package com.jocelyn.todoapp.controller;
+
+import com.jocelyn.todoapp.dto.ImportJobResponse;
+import com.jocelyn.todoapp.importer.TaskImportService;
+import com.jocelyn.todoapp.model.ImportFormat;
+import com.jocelyn.todoapp.sql.StatementBudget;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.InputStream;
+
+@RestController
+@RequestMapping("/api/imports")
+@RequiredArgsConstructor
+public class ImportController {
+
+    public static final String CSV = "text/csv";
+    public static final String NDJSON = "application/x-ndjson";
+
+    private final TaskImportService taskImportService;
+
+    @PostMapping(consumes = CSV)
+    @StatementBudget(1)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJobResponse importCsv(InputStream body) {
+        return taskImportService.start(ImportFormat.CSV, body);
+    }
+
+    @PostMapping(consumes = NDJSON)
+    @StatementBudget(1)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJobResponse importNdjson(InputStream body) {
+        return taskImportService.start(ImportFormat.NDJSON, body);
+    }
+
+    @PostMapping(value = "/{id}/resume", consumes = {CSV, NDJSON})
+    @StatementBudget(3)
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ImportJobResponse resume(@PathVariable Long id, InputStream body) {
+        return taskImportService.resume(id, body);
+    }
+
+    @GetMapping("/{id}")
+    @StatementBudget(1)
+    public ImportJobResponse get(@PathVariable Long id) {
+        return taskImportService.get(id);
+    }
+}
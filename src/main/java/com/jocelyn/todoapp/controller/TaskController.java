@@ -1,24 +1,44 @@
 package com.jocelyn.todoapp.controller;
 
+import com.jocelyn.todoapp.dto.PageResponse;
+import com.jocelyn.todoapp.dto.TaskBatchCreateRequest;
+import com.jocelyn.todoapp.dto.TaskBatchCreateResponse;
+import com.jocelyn.todoapp.dto.TaskBulkRequest;
+import com.jocelyn.todoapp.dto.TaskBulkResponse;
+import com.jocelyn.todoapp.dto.TaskChangesResponse;
+import com.jocelyn.todoapp.dto.TaskDeleteResponse;
 import com.jocelyn.todoapp.dto.TaskMoveRequest;
 import com.jocelyn.todoapp.dto.TaskRequest;
 import com.jocelyn.todoapp.dto.TaskResponse;
+import com.jocelyn.todoapp.dto.TaskSearchResponse;
+import com.jocelyn.todoapp.model.Priority;
+import com.jocelyn.todoapp.service.TaskBulkService;
+import com.jocelyn.todoapp.service.TaskSearchService;
 import com.jocelyn.todoapp.service.TaskService;
+import com.jocelyn.todoapp.service.TaskSyncService;
+import com.jocelyn.todoapp.sql.StatementBudget;
+import com.jocelyn.todoapp.writebehind.TaskWriteBuffer;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -26,41 +46,115 @@ import java.util.List;
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskBulkService taskBulkService;
+    private final TaskSyncService taskSyncService;
+    private final TaskSearchService taskSearchService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
+    @StatementBudget(6)
     public TaskResponse create(@Valid @RequestBody TaskRequest request) {
         return taskService.create(request);
     }
 
+    @PostMapping("/batch")
+    @ResponseStatus(HttpStatus.CREATED)
+    @StatementBudget(30)
+    public TaskBatchCreateResponse createBatch(@Valid @RequestBody TaskBatchCreateRequest request) {
+        return taskService.createBatch(request);
+    }
+
+    @PostMapping("/bulk")
+    @StatementBudget(25)
+    public TaskBulkResponse bulk(@Valid @RequestBody TaskBulkRequest request) {
+        return taskBulkService.apply(request);
+    }
+
     @PutMapping("/{id}")
+    @StatementBudget(11)
     public TaskResponse update(@PathVariable Long id, @Valid @RequestBody TaskRequest request) {
         return taskService.update(id, request);
     }
 
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @StatementBudget(11)
+    public TaskResponse patch(@PathVariable Long id,
+                              @RequestBody Map<String, Object> patch,
+                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                              @RequestHeader(value = TaskWriteBuffer.CLIENT_ID_HEADER, required = false) String clientId) {
+        return taskService.patch(id, patch, ifMatch, clientId);
+    }
+
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
-        taskService.delete(id);
+    @StatementBudget(7)
+    public TaskDeleteResponse delete(@PathVariable Long id) {
+        return taskService.delete(id);
     }
 
     @PutMapping("/{id}/move")
+    @StatementBudget(11)
     public TaskResponse move(@PathVariable Long id, @RequestBody TaskMoveRequest request) {
         return taskService.move(id, request);
     }
 
+    @GetMapping("/{id}/subtree")
+    @StatementBudget(3)
+    public TaskResponse getSubtree(@PathVariable Long id) {
+        return taskService.getSubtree(id);
+    }
+
     @GetMapping("/list/{listId}")
-    public List<TaskResponse> getByList(@PathVariable Long listId) {
-        return taskService.getByList(listId);
+    @StatementBudget(4)
+    public PageResponse<?> getByList(@PathVariable Long listId,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer size,
+                                     @RequestParam(required = false) String fields,
+                                     WebRequest webRequest) {
+        if (webRequest.checkNotModified(taskService.listETag(listId, "page|" + cursor + "|" + size + "|" + fields))) {
+            return null;
+        }
+        return taskService.getByList(listId, cursor, size, fields);
     }
 
     @GetMapping("/list/{listId}/tree")
-    public List<TaskResponse> getTreeByList(@PathVariable Long listId) {
-        return taskService.getTreeByList(listId);
+    @StatementBudget(4)
+    public List<?> getTreeByList(@PathVariable Long listId,
+                                 @RequestParam(required = false) String fields,
+                                 WebRequest webRequest) {
+        if (webRequest.checkNotModified(taskService.listETag(listId, "tree|" + fields))) {
+            return null;
+        }
+        return taskService.getTreeByList(listId, fields);
+    }
+
+    @GetMapping("/list/{listId}/changes")
+    @StatementBudget(2)
+    public TaskChangesResponse getChanges(@PathVariable Long listId,
+                                          @RequestParam(required = false) String since,
+                                          @RequestParam(required = false) Integer size) {
+        return taskSyncService.getChanges(listId, since, size);
+    }
+
+    @GetMapping("/search")
+    @StatementBudget(1)
+    public TaskSearchResponse search(@RequestParam("q") String query,
+                                     @RequestParam(required = false) Long listId,
+                                     @RequestParam(required = false) Priority priority,
+                                     @RequestParam(required = false) Boolean completed,
+                                     @RequestParam(required = false) Integer size) {
+        return taskSearchService.search(query, listId, priority, completed, size);
     }
 
     @GetMapping("/smart-view")
-    public List<TaskResponse> getSmartView(@RequestParam String view) {
-        return taskService.getSmartView(view);
+    @StatementBudget(3)
+    public PageResponse<?> getSmartView(@RequestParam String view,
+                                        @RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer size,
+                                        @RequestParam(required = false) String fields,
+                                        WebRequest webRequest) {
+        if (webRequest.checkNotModified(taskService.smartViewETag(view, cursor + "|" + size + "|" + fields))) {
+            return null;
+        }
+        return taskService.getSmartView(view, cursor, size, fields);
     }
 }
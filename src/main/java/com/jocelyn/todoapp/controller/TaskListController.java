@@ -1,8 +1,11 @@
 package com.jocelyn.todoapp.controller;
 
+import com.jocelyn.todoapp.dto.ListDeletionJobResponse;
 import com.jocelyn.todoapp.dto.TaskListRequest;
 import com.jocelyn.todoapp.dto.TaskListResponse;
+import com.jocelyn.todoapp.service.TaskListDeletionService;
 import com.jocelyn.todoapp.service.TaskListService;
+import com.jocelyn.todoapp.sql.StatementBudget;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -24,26 +27,37 @@ import java.util.List;
 public class TaskListController {
 
     private final TaskListService taskListService;
+    private final TaskListDeletionService taskListDeletionService;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
+    @StatementBudget(3)
     public TaskListResponse create(@Valid @RequestBody TaskListRequest request) {
         return taskListService.create(request);
     }
 
     @GetMapping
+    @StatementBudget(2)
     public List<TaskListResponse> getAll() {
         return taskListService.getAll();
     }
 
     @PutMapping("/{id}")
+    @StatementBudget(5)
     public TaskListResponse update(@PathVariable Long id, @Valid @RequestBody TaskListRequest request) {
         return taskListService.update(id, request);
     }
 
     @DeleteMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
-        taskListService.delete(id);
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    @StatementBudget(4)
+    public ListDeletionJobResponse delete(@PathVariable Long id) {
+        return taskListService.delete(id);
+    }
+
+    @GetMapping("/deletions/{jobId}")
+    @StatementBudget(1)
+    public ListDeletionJobResponse getDeletion(@PathVariable Long jobId) {
+        return taskListDeletionService.get(jobId);
     }
 }
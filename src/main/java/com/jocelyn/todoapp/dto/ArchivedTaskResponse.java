@@ -0,0 +1,29 @@
+package com.jocelyn.todoapp.dto;
+
+import com.jocelyn.todoapp.model.Priority;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class ArchivedTaskResponse {
+    private Long id;
+    private Long rootId;
+    private Long listId;
+    private Long parentTaskId;
+    private String title;
+    private String description;
+    private boolean completed;
+    private LocalDate dueDate;
+    private Priority priority;
+    private String notes;
+    private String location;
+    private String meetingLink;
+    private int depth;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime archivedAt;
+}
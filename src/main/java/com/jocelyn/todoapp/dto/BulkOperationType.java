@@ -0,0 +1,9 @@
+package com.jocelyn.todoapp.dto;
+
+public enum BulkOperationType {
+    COMPLETE,
+    UNCOMPLETE,
+    MOVE,
+    SET_PRIORITY,
+    DELETE
+}
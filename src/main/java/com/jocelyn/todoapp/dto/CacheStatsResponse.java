@@ -0,0 +1,16 @@
+package com.jocelyn.todoapp.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class CacheStatsResponse {
+    private String name;
+    private int size;
+    private int maxSize;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private double hitRate;
+}
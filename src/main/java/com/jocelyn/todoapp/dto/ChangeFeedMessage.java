@@ -0,0 +1,16 @@
+package com.jocelyn.todoapp.dto;
+
+import com.jocelyn.todoapp.event.ChangeType;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ChangeFeedMessage {
+    private long sequence;
+    private String entity;
+    private ChangeType type;
+    private Long id;
+    private Long listId;
+    private Long previousListId;
+}
@@ -0,0 +1,25 @@
+package com.jocelyn.todoapp.dto;
+
+import com.jocelyn.todoapp.model.ImportFormat;
+import com.jocelyn.todoapp.model.JobStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class ImportJobResponse {
+    private Long id;
+    private ImportFormat format;
+    private JobStatus status;
+    private long sizeBytes;
+    private long processedBytes;
+    private int percentComplete;
+    private long committedRecords;
+    private long createdTasks;
+    private long skippedRecords;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,19 @@
+package com.jocelyn.todoapp.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class IndexConsistencyResponse {
+    private String name;
+    private long indexedEntries;
+    private long databaseEntries;
+    private long missing;
+    private long unexpected;
+    private long mismatched;
+    private List<Long> sampleTaskIds;
+    private boolean consistent;
+}
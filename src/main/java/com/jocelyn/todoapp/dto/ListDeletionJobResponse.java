@@ -0,0 +1,22 @@
+package com.jocelyn.todoapp.dto;
+
+import com.jocelyn.todoapp.model.JobStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class ListDeletionJobResponse {
+    private Long id;
+    private Long listId;
+    private String listName;
+    private JobStatus status;
+    private long totalTasks;
+    private long deletedTasks;
+    private int percentComplete;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.jocelyn.todoapp.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class TaskBatchCreateRequest {
+
+    @NotEmpty(message = "At least one task is required")
+    private List<@Valid TaskBatchItem> tasks;
+}
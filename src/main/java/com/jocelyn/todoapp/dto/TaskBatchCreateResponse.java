@@ -0,0 +1,14 @@
+package com.jocelyn.todoapp.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Builder
+public class TaskBatchCreateResponse {
+    private List<TaskResponse> tasks;
+    private Map<String, Long> ids;
+}
@@ -0,0 +1,16 @@
+package com.jocelyn.todoapp.dto;
+
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class TaskBatchItem extends TaskRequest {
+
+    @Size(max = 64, message = "Temp id cannot exceed 64 characters")
+    private String tempId;
+
+    @Size(max = 64, message = "Parent temp id cannot exceed 64 characters")
+    private String parentTempId;
+}
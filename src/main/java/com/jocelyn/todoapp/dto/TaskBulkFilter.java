@@ -0,0 +1,21 @@
+package com.jocelyn.todoapp.dto;
+
+import com.jocelyn.todoapp.model.Priority;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+public class TaskBulkFilter {
+    private Long listId;
+    private LocalDate dueFrom;
+    private LocalDate dueTo;
+    private Priority priority;
+    private Boolean completed;
+
+    public boolean isEmpty() {
+        return listId == null && dueFrom == null && dueTo == null && priority == null && completed == null;
+    }
+}
@@ -0,0 +1,26 @@
+package com.jocelyn.todoapp.dto;
+
+import com.jocelyn.todoapp.model.Priority;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+public class TaskBulkOperation {
+
+    @NotNull(message = "Operation type is required")
+    private BulkOperationType type;
+
+    private List<Long> ids;
+
+    @Valid
+    private TaskBulkFilter filter;
+
+    private Long targetListId;
+
+    private Priority priority;
+}
@@ -0,0 +1,12 @@
+package com.jocelyn.todoapp.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class TaskBulkResponse {
+    private List<TaskBulkResult> results;
+}
@@ -0,0 +1,13 @@
+package com.jocelyn.todoapp.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class TaskBulkResult {
+    private BulkOperationType type;
+    private int matched;
+    private int affected;
+    private int unchanged;
+}
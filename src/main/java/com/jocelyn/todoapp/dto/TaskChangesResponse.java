@@ -0,0 +1,16 @@
+package com.jocelyn.todoapp.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class TaskChangesResponse {
+    private List<TaskResponse> changed;
+    private List<TaskTombstoneResponse> deleted;
+    private String next;
+    private boolean hasMore;
+    private boolean resetRequired;
+}
@@ -0,0 +1,11 @@
+package com.jocelyn.todoapp.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class TaskDeleteResponse {
+    private Long id;
+    private int deletedCount;
+}
@@ -11,6 +11,10 @@ public class TaskListResponse {
     private Long id;
     private String name;
     private boolean systemDefined;
+    private long totalTasks;
+    private long completedTasks;
+    private long openTasks;
+    private long overdueTasks;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
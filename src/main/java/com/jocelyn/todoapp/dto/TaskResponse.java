@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class TaskResponse {
     private Long id;
     private String title;
@@ -22,7 +22,9 @@ public class TaskResponse {
     private String meetingLink;
     private Long listId;
     private Long parentTaskId;
+    private int depth;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private long version;
     private List<TaskResponse> children;
 }
@@ -0,0 +1,14 @@
+package com.jocelyn.todoapp.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@Builder
+public class TaskSearchResponse {
+    private String query;
+    private int total;
+    private List<TaskResponse> items;
+}
@@ -0,0 +1,13 @@
+package com.jocelyn.todoapp.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class TaskTombstoneResponse {
+    private Long taskId;
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,7 @@
+package com.jocelyn.todoapp.event;
+
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,4 @@
+package com.jocelyn.todoapp.event;
+
+public record ListDeletionRequestedEvent(Long jobId) {
+}
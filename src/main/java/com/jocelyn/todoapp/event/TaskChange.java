@@ -0,0 +1,27 @@
+package com.jocelyn.todoapp.event;
+
+public record TaskChange(TaskSnapshot before, TaskSnapshot after) {
+
+    public static TaskChange created(TaskSnapshot after) {
+        return new TaskChange(null, after);
+    }
+
+    public static TaskChange updated(TaskSnapshot before, TaskSnapshot after) {
+        return new TaskChange(before, after);
+    }
+
+    public static TaskChange deleted(TaskSnapshot before) {
+        return new TaskChange(before, null);
+    }
+
+    public ChangeType type() {
+        if (before == null) {
+            return ChangeType.CREATED;
+        }
+        return after == null ? ChangeType.DELETED : ChangeType.UPDATED;
+    }
+
+    public Long taskId() {
+        return after != null ? after.id() : before.id();
+    }
+}
@@ -0,0 +1,4 @@
+package com.jocelyn.todoapp.event;
+
+public record TaskListChangedEvent(ChangeType type, Long listId) {
+}
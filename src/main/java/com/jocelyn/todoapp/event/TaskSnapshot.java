@@ -0,0 +1,47 @@
+package com.jocelyn.todoapp.event;
+
+import com.jocelyn.todoapp.model.Priority;
+import com.jocelyn.todoapp.model.Task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record TaskSnapshot(
+        Long id,
+        Long listId,
+        Long parentTaskId,
+        LocalDate dueDate,
+        boolean completed,
+        Priority priority,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    public static TaskSnapshot of(Task task) {
+        return new TaskSnapshot(
+                task.getId(),
+                task.getTaskList().getId(),
+                task.getParentTask() != null ? task.getParentTask().getId() : null,
+                task.getDueDate(),
+                task.isCompleted(),
+                task.getPriority(),
+                task.getCreatedAt(),
+                task.getUpdatedAt());
+    }
+
+    public TaskSnapshot withListId(Long newListId, LocalDateTime newUpdatedAt) {
+        return new TaskSnapshot(id, newListId, parentTaskId, dueDate, completed, priority, createdAt, newUpdatedAt);
+    }
+
+    public TaskSnapshot withCompleted(boolean newCompleted, LocalDateTime newUpdatedAt) {
+        return new TaskSnapshot(id, listId, parentTaskId, dueDate, newCompleted, priority, createdAt, newUpdatedAt);
+    }
+
+    public TaskSnapshot withPriority(Priority newPriority, LocalDateTime newUpdatedAt) {
+        return new TaskSnapshot(id, listId, parentTaskId, dueDate, completed, newPriority, createdAt, newUpdatedAt);
+    }
+
+    public TaskSnapshot movedTo(Long newListId, Long newParentTaskId, LocalDateTime newUpdatedAt) {
+        return new TaskSnapshot(id, newListId, newParentTaskId, dueDate, completed, priority, createdAt, newUpdatedAt);
+    }
+}
@@ -0,0 +1,10 @@
+package com.jocelyn.todoapp.event;
+
+import java.util.List;
+
+public record TasksChangedEvent(List<TaskChange> changes) {
+
+    public static TasksChangedEvent of(TaskChange change) {
+        return new TasksChangedEvent(List.of(change));
+    }
+}
@@ -0,0 +1,106 @@
+package com.jocelyn.todoapp.feed;
+
+import com.jocelyn.todoapp.config.ChangeFeedProperties;
+import com.jocelyn.todoapp.dto.ChangeFeedMessage;
+import com.jocelyn.todoapp.event.TaskChange;
+import com.jocelyn.todoapp.event.TaskListChangedEvent;
+import com.jocelyn.todoapp.event.TaskSnapshot;
+import com.jocelyn.todoapp.event.TasksChangedEvent;
+import com.jocelyn.todoapp.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fans committed task and list changes out to SSE subscribers. Publishing only enqueues
+ * into bounded per-subscriber buffers, so a slow client never holds up a writer; each
+ * subscriber is drained by its own virtual thread.
+ */
+@Component
+public class ChangeFeedBroker {
+
+    private final ChangeFeedProperties properties;
+    private final Set<ChangeFeedSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final Counter droppedCounter;
+
+    public ChangeFeedBroker(ChangeFeedProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.droppedCounter = meterRegistry.counter("todoapp.feed.resyncs");
+        meterRegistry.gaugeCollectionSize("todoapp.feed.subscribers", Tags.empty(), subscribers);
+    }
+
+    public SseEmitter subscribe(Long listId) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new ServiceUnavailableException("Too many change feed subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        ChangeFeedSubscriber subscriber = new ChangeFeedSubscriber(emitter, listId, properties.getBufferSize(),
+                properties.getHeartbeatInterval(), subscribers::remove, droppedCounter::increment);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(ex -> subscriber.close());
+        subscribers.add(subscriber);
+        Thread.ofVirtual().name("change-feed-" + subscriberIds.incrementAndGet()).start(subscriber);
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksChanged(TasksChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        for (TaskChange change : event.changes()) {
+            TaskSnapshot current = change.after() != null ? change.after() : change.before();
+            Long previousListId = change.before() != null && !Objects.equals(change.before().listId(), current.listId())
+                    ? change.before().listId()
+                    : null;
+            publish(ChangeFeedMessage.builder()
+                    .sequence(sequence.incrementAndGet())
+                    .entity("task")
+                    .type(change.type())
+                    .id(change.taskId())
+                    .listId(current.listId())
+                    .previousListId(previousListId)
+                    .build());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskListChanged(TaskListChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        publish(ChangeFeedMessage.builder()
+                .sequence(sequence.incrementAndGet())
+                .entity("list")
+                .type(event.type())
+                .id(event.listId())
+                .listId(event.listId())
+                .build());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List.copyOf(subscribers).forEach(ChangeFeedSubscriber::complete);
+    }
+
+    private void publish(ChangeFeedMessage message) {
+        for (ChangeFeedSubscriber subscriber : subscribers) {
+            if (subscriber.accepts(message)) {
+                subscriber.offer(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.jocelyn.todoapp.feed;
+
+import com.jocelyn.todoapp.dto.ChangeFeedMessage;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+class ChangeFeedSubscriber implements Runnable {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private static final ChangeFeedMessage RESYNC = ChangeFeedMessage.builder().entity(RESYNC_EVENT).build();
+
+    private final SseEmitter emitter;
+    private final Long listId;
+    private final BlockingQueue<ChangeFeedMessage> queue;
+    private final long heartbeatMillis;
+    private final Consumer<ChangeFeedSubscriber> onClose;
+    private final Runnable onDrop;
+    private volatile Thread drainer;
+    private volatile boolean closed;
+
+    ChangeFeedSubscriber(SseEmitter emitter, Long listId, int bufferSize, Duration heartbeatInterval,
+                         Consumer<ChangeFeedSubscriber> onClose, Runnable onDrop) {
+        this.emitter = emitter;
+        this.listId = listId;
+        this.queue = new ArrayBlockingQueue<>(Math.max(bufferSize, 2));
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        this.onClose = onClose;
+        this.onDrop = onDrop;
+    }
+
+    boolean accepts(ChangeFeedMessage message) {
+        return listId == null
+                || listId.equals(message.getListId())
+                || listId.equals(message.getPreviousListId());
+    }
+
+    synchronized void offer(ChangeFeedMessage message) {
+        if (closed || queue.offer(message)) {
+            return;
+        }
+        queue.clear();
+        queue.offer(RESYNC);
+        onDrop.run();
+    }
+
+    @Override
+    public void run() {
+        drainer = Thread.currentThread();
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+            while (!closed) {
+                ChangeFeedMessage message = queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (message == null) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else if (message == RESYNC) {
+                    emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(RESYNC_EVENT));
+                } else {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(message.getSequence()))
+                            .name(message.getEntity())
+                            .data(message));
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException ex) {
+            emitter.completeWithError(ex);
+        } finally {
+            close();
+        }
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.clear();
+        Thread current = drainer;
+        if (current != null && !Objects.equals(current, Thread.currentThread())) {
+            current.interrupt();
+        }
+        onClose.accept(this);
+    }
+
+    void complete() {
+        emitter.complete();
+        close();
+    }
+}
@@ -0,0 +1,121 @@
+package com.jocelyn.todoapp.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 reader: the first row is the header, fields may be quoted, and quoted fields may
+ * contain separators, doubled quotes and line breaks.
+ */
+class CsvRecordReader implements RecordReader {
+
+    private static final int MAX_FIELD_LENGTH = 64 * 1024;
+
+    private final Reader reader;
+    private final List<String> header;
+    private int pushedBack = -2;
+
+    CsvRecordReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> columns = readRow();
+        if (columns == null) {
+            throw new InvalidRecordException("CSV file is empty");
+        }
+        this.header = columns.stream()
+                .map(column -> column.strip().toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> row;
+        do {
+            row = readRow();
+            if (row == null) {
+                return null;
+            }
+        } while (row.size() == 1 && row.get(0).isEmpty());
+
+        if (row.size() != header.size()) {
+            throw new InvalidRecordException("Expected " + header.size() + " fields but found " + row.size());
+        }
+        Map<String, String> record = new HashMap<>(header.size() * 2);
+        for (int i = 0; i < header.size(); i++) {
+            record.put(header.get(i), row.get(i));
+        }
+        return record;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private List<String> readRow() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean tooLong = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new InvalidRecordException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                fields.add(field.toString());
+                if (tooLong) {
+                    throw new InvalidRecordException("Field exceeds " + MAX_FIELD_LENGTH + " characters");
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            if (field.length() > MAX_FIELD_LENGTH) {
+                tooLong = true;
+                field.setLength(0);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+}
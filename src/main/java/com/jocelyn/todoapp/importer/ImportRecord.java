@@ -0,0 +1,61 @@
+package com.jocelyn.todoapp.importer;
+
+import com.jocelyn.todoapp.dto.TaskBatchItem;
+import com.jocelyn.todoapp.model.Priority;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One task row of an import file. Parents are referenced by {@code parentExternalId} and must
+ * appear earlier in the file than their children.
+ */
+record ImportRecord(String listName, String externalId, String parentExternalId, TaskBatchItem item) {
+
+    static ImportRecord of(Map<String, String> fields) {
+        String listName = text(fields, "list");
+        if (listName == null) {
+            throw new InvalidRecordException("List name is required");
+        }
+
+        TaskBatchItem item = new TaskBatchItem();
+        item.setTitle(text(fields, "title"));
+        item.setDescription(text(fields, "description"));
+        item.setCompleted(Boolean.parseBoolean(text(fields, "completed")));
+        item.setDueDate(date(text(fields, "duedate")));
+        item.setPriority(priority(text(fields, "priority")));
+        item.setNotes(text(fields, "notes"));
+        item.setLocation(text(fields, "location"));
+        item.setMeetingLink(text(fields, "meetinglink"));
+        return new ImportRecord(listName, text(fields, "externalid"), text(fields, "parentexternalid"), item);
+    }
+
+    private static String text(Map<String, String> fields, String name) {
+        String value = fields.get(name);
+        return value == null || value.isBlank() ? null : value.strip();
+    }
+
+    private static LocalDate date(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException ex) {
+            throw new InvalidRecordException("Invalid due date: " + value);
+        }
+    }
+
+    private static Priority priority(String value) {
+        if (value == null) {
+            return Priority.MEDIUM;
+        }
+        try {
+            return Priority.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRecordException("Invalid priority: " + value);
+        }
+    }
+}
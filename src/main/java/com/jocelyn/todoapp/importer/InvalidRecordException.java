@@ -0,0 +1,8 @@
+package com.jocelyn.todoapp.importer;
+
+class InvalidRecordException extends RuntimeException {
+
+    InvalidRecordException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,86 @@
+package com.jocelyn.todoapp.importer;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * One JSON object per line; blank lines are ignored. Scalar values are read as text. Lines longer
+ * than {@link #MAX_LINE_LENGTH} characters are skipped without being buffered.
+ */
+class NdjsonRecordReader implements RecordReader {
+
+    static final int MAX_LINE_LENGTH = 256 * 1024;
+
+    private final BufferedReader reader;
+    private final JsonMapper jsonMapper;
+    private final StringBuilder line = new StringBuilder();
+
+    NdjsonRecordReader(BufferedReader reader, JsonMapper jsonMapper) {
+        this.reader = reader;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        String text;
+        do {
+            text = readLine();
+            if (text == null) {
+                return null;
+            }
+        } while (text.isBlank());
+
+        JsonNode node;
+        try {
+            node = jsonMapper.readTree(text);
+        } catch (JacksonException ex) {
+            throw new InvalidRecordException("Malformed JSON: " + ex.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new InvalidRecordException("Expected a JSON object");
+        }
+        Map<String, String> record = new HashMap<>();
+        for (Map.Entry<String, JsonNode> field : node.properties()) {
+            JsonNode value = field.getValue();
+            if (!value.isNull()) {
+                record.put(field.getKey().toLowerCase(Locale.ROOT), value.isValueNode() ? value.asString() : value.toString());
+            }
+        }
+        return record;
+    }
+
+    private String readLine() throws IOException {
+        line.setLength(0);
+        boolean tooLong = false;
+        int c;
+        while ((c = reader.read()) != -1 && c != '\n') {
+            if (line.length() < MAX_LINE_LENGTH) {
+                line.append((char) c);
+            } else {
+                tooLong = true;
+            }
+        }
+        if (c == -1 && line.isEmpty() && !tooLong) {
+            return null;
+        }
+        if (tooLong) {
+            throw new InvalidRecordException("Line exceeds " + MAX_LINE_LENGTH + " characters");
+        }
+        if (!line.isEmpty() && line.charAt(line.length() - 1) == '\r') {
+            line.setLength(line.length() - 1);
+        }
+        return line.toString();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.jocelyn.todoapp.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Pulls one record at a time from an import file. Keys are lower-cased field names.
+ */
+interface RecordReader extends Closeable {
+
+    /**
+     * Returns the next record, or null at end of input. A malformed record is reported with an
+     * {@link InvalidRecordException}; the reader stays positioned after it.
+     */
+    Map<String, String> next() throws IOException;
+}
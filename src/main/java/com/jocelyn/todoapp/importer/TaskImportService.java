@@ -0,0 +1,464 @@
+package com.jocelyn.todoapp.importer;
+
+import com.jocelyn.todoapp.config.BulkProperties;
+import com.jocelyn.todoapp.config.ImportProperties;
+import com.jocelyn.todoapp.dto.ImportJobResponse;
+import com.jocelyn.todoapp.dto.TaskBatchCreateRequest;
+import com.jocelyn.todoapp.dto.TaskBatchCreateResponse;
+import com.jocelyn.todoapp.dto.TaskBatchItem;
+import com.jocelyn.todoapp.dto.TaskListRequest;
+import com.jocelyn.todoapp.exception.BadRequestException;
+import com.jocelyn.todoapp.exception.ResourceNotFoundException;
+import com.jocelyn.todoapp.model.ImportFormat;
+import com.jocelyn.todoapp.model.ImportJob;
+import com.jocelyn.todoapp.model.JobStatus;
+import com.jocelyn.todoapp.model.Task;
+import com.jocelyn.todoapp.model.TaskImportRef;
+import com.jocelyn.todoapp.model.TaskList;
+import com.jocelyn.todoapp.repository.ImportJobRepository;
+import com.jocelyn.todoapp.repository.TaskImportRefRepository;
+import com.jocelyn.todoapp.repository.TaskListRepository;
+import com.jocelyn.todoapp.repository.TaskNodeRow;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import com.jocelyn.todoapp.service.TaskListService;
+import com.jocelyn.todoapp.service.TaskService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Streaming task import. The upload is spooled to disk (hashing it on the way) and then parsed
+ * one record at a time on a background thread, so only the current chunk is ever in memory.
+ * Each chunk is created through {@link TaskService#createBatch} in its own transaction together
+ * with the job's progress counters and the external id mappings of the new tasks, which makes
+ * a failed job resumable from its last committed chunk by uploading the same file again.
+ * Records naming a list that does not exist are skipped unless
+ * {@code todoapp.import.create-missing-lists} is set, in which case the list is created.
+ */
+@Slf4j
+@Service
+public class TaskImportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_ID_DIGITS = String.valueOf(Long.MAX_VALUE).length();
+
+    private final ImportProperties importProperties;
+    private final BulkProperties bulkProperties;
+    private final ImportJobRepository importJobRepository;
+    private final TaskImportRefRepository taskImportRefRepository;
+    private final TaskListRepository taskListRepository;
+    private final TaskRepository taskRepository;
+    private final TaskListService taskListService;
+    private final TaskService taskService;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("task-import-", 0).factory());
+    private final Object statusLock = new Object();
+
+    public TaskImportService(ImportProperties importProperties,
+                             BulkProperties bulkProperties,
+                             ImportJobRepository importJobRepository,
+                             TaskImportRefRepository taskImportRefRepository,
+                             TaskListRepository taskListRepository,
+                             TaskRepository taskRepository,
+                             TaskListService taskListService,
+                             TaskService taskService,
+                             Validator validator,
+                             JsonMapper jsonMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.importProperties = importProperties;
+        this.bulkProperties = bulkProperties;
+        this.importJobRepository = importJobRepository;
+        this.taskImportRefRepository = taskImportRefRepository;
+        this.taskListRepository = taskListRepository;
+        this.taskRepository = taskRepository;
+        this.taskListService = taskListService;
+        this.taskService = taskService;
+        this.validator = validator;
+        this.jsonMapper = jsonMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        transactionTemplate.executeWithoutResult(status -> importJobRepository.updateStatus(
+                List.of(JobStatus.QUEUED, JobStatus.RUNNING), JobStatus.FAILED,
+                "Interrupted by shutdown, resume to continue"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ImportJobResponse start(ImportFormat format, InputStream body) {
+        Spool spool = spool(body);
+        ImportJob job = importJobRepository.save(ImportJob.builder()
+                .format(format)
+                .status(JobStatus.QUEUED)
+                .sha256(spool.sha256())
+                .sizeBytes(spool.size())
+                .build());
+        executor.execute(() -> run(job.getId(), spool.file()));
+        return toResponse(job);
+    }
+
+    public ImportJobResponse resume(Long jobId, InputStream body) {
+        requireFailed(findById(jobId));
+        Spool spool = spool(body);
+        ImportJob job;
+        synchronized (statusLock) {
+            job = findById(jobId);
+            try {
+                requireFailed(job);
+                if (!job.getSha256().equals(spool.sha256())) {
+                    throw new BadRequestException("Uploaded file does not match the original import");
+                }
+            } catch (BadRequestException ex) {
+                deleteQuietly(spool.file());
+                throw ex;
+            }
+            job.setStatus(JobStatus.QUEUED);
+            job.setLastError(null);
+            job = importJobRepository.save(job);
+        }
+        executor.execute(() -> run(jobId, spool.file()));
+        return toResponse(job);
+    }
+
+    public ImportJobResponse get(Long jobId) {
+        return toResponse(findById(jobId));
+    }
+
+    private void run(Long jobId, Path file) {
+        ImportJob job = findById(jobId);
+        job.setStatus(JobStatus.RUNNING);
+        job = importJobRepository.save(job);
+
+        int chunkSize = Math.max(1, Math.min(importProperties.getChunkSize(), bulkProperties.getMaxBatchCreate()));
+        Map<String, Long> listIds = new HashMap<>();
+        try (CountingInputStream input = new CountingInputStream(Files.newInputStream(file));
+             RecordReader reader = open(job.getFormat(), input)) {
+            long alreadyCommitted = job.getCommittedRecords();
+            List<Parsed> chunk = new ArrayList<>(chunkSize);
+            long position = 0;
+            Parsed parsed;
+            while ((parsed = read(reader, position + 1)) != null) {
+                position++;
+                if (position <= alreadyCommitted) {
+                    continue;
+                }
+                chunk.add(parsed);
+                if (chunk.size() == chunkSize) {
+                    job = commitChunk(jobId, chunk, listIds, input.count());
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                job = commitChunk(jobId, chunk, listIds, input.count());
+            }
+
+            job.setStatus(JobStatus.COMPLETED);
+            job.setProcessedBytes(job.getSizeBytes());
+            importJobRepository.save(job);
+            transactionTemplate.executeWithoutResult(status -> taskImportRefRepository.deleteByJobId(jobId));
+        } catch (IOException | RuntimeException ex) {
+            log.error("Import {} failed", jobId, ex);
+            ImportJob failed = findById(jobId);
+            failed.setStatus(JobStatus.FAILED);
+            failed.recordError(ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+            importJobRepository.save(failed);
+        } finally {
+            deleteQuietly(file);
+        }
+    }
+
+    private ImportJob commitChunk(Long jobId, List<Parsed> chunk, Map<String, Long> listIds, long processedBytes) {
+        resolveLists(chunk, listIds);
+        return transactionTemplate.execute(status -> {
+            Set<String> externalIds = new HashSet<>();
+            for (Parsed parsed : chunk) {
+                if (parsed.record() != null) {
+                    addIfPresent(externalIds, parsed.record().externalId());
+                    addIfPresent(externalIds, parsed.record().parentExternalId());
+                }
+            }
+            Map<String, TaskImportRef> refs = new HashMap<>();
+            if (!externalIds.isEmpty()) {
+                taskImportRefRepository.findByJobIdAndExternalIdIn(jobId, externalIds)
+                        .forEach(ref -> refs.put(ref.getExternalId(), ref));
+            }
+            Map<String, Integer> subtreePathLengths = subtreePathLengths(refs.values());
+
+            Map<String, TaskBatchItem> accepted = new HashMap<>();
+            List<TaskBatchItem> items = new ArrayList<>(chunk.size());
+            long skipped = 0;
+            String lastError = null;
+            for (Parsed parsed : chunk) {
+                String error = parsed.error() != null
+                        ? parsed.error()
+                        : accept(parsed.record(), listIds, accepted, refs, subtreePathLengths, items);
+                if (error != null) {
+                    skipped++;
+                    lastError = "Record " + parsed.position() + ": " + error;
+                }
+            }
+
+            if (!items.isEmpty()) {
+                TaskBatchCreateRequest request = new TaskBatchCreateRequest();
+                request.setTasks(items);
+                TaskBatchCreateResponse response = taskService.createBatch(request);
+                List<TaskImportRef> created = new ArrayList<>();
+                for (TaskBatchItem item : items) {
+                    if (item.getTempId() != null) {
+                        created.add(TaskImportRef.builder()
+                                .jobId(jobId)
+                                .externalId(item.getTempId())
+                                .taskId(response.getIds().get(item.getTempId()))
+                                .listId(item.getListId())
+                                .build());
+                    }
+                }
+                taskImportRefRepository.saveAll(created);
+            }
+
+            ImportJob job = findById(jobId);
+            job.setCommittedRecords(job.getCommittedRecords() + chunk.size());
+            job.setCreatedTasks(job.getCreatedTasks() + items.size());
+            job.setSkippedRecords(job.getSkippedRecords() + skipped);
+            job.setProcessedBytes(processedBytes);
+            if (lastError != null) {
+                job.recordError(lastError);
+            }
+            return importJobRepository.save(job);
+        });
+    }
+
+    /**
+     * Validates one record and adds it to {@code items}. Path lengths of tasks created earlier in
+     * the chunk are estimated with the widest possible id, so a record that passes here cannot
+     * fail the path length check of {@link TaskService#createBatch} and with it the whole chunk.
+     */
+    private String accept(ImportRecord record, Map<String, Long> listIds, Map<String, TaskBatchItem> accepted,
+                          Map<String, TaskImportRef> refs, Map<String, Integer> subtreePathLengths,
+                          List<TaskBatchItem> items) {
+        TaskBatchItem item = record.item();
+        Long listId = listIds.get(listKey(record.listName()));
+        if (listId == null) {
+            return "Unknown list: " + record.listName();
+        }
+        item.setListId(listId);
+        item.setTempId(record.externalId());
+        Set<ConstraintViolation<TaskBatchItem>> violations = validator.validate(item);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+
+        String externalId = record.externalId();
+        if (externalId != null && (accepted.containsKey(externalId) || refs.containsKey(externalId))) {
+            return "Duplicate external id: " + externalId;
+        }
+        String parentExternalId = record.parentExternalId();
+        int pathLength = Task.ROOT_PATH.length();
+        if (parentExternalId != null) {
+            TaskBatchItem parentItem = accepted.get(parentExternalId);
+            TaskImportRef parentRef = refs.get(parentExternalId);
+            Long parentListId = parentItem != null ? parentItem.getListId()
+                    : parentRef != null ? parentRef.getListId() : null;
+            if (parentListId == null) {
+                return "Unknown parent external id " + parentExternalId + " (parents must precede their children)";
+            }
+            if (!parentListId.equals(listId)) {
+                return "Parent task must belong to the same list";
+            }
+            Integer parentSubtreePathLength = subtreePathLengths.get(parentExternalId);
+            if (parentSubtreePathLength == null) {
+                return "Parent task of external id " + parentExternalId + " no longer exists";
+            }
+            pathLength = parentSubtreePathLength;
+            if (pathLength > Task.MAX_PATH_LENGTH) {
+                return "Maximum task nesting depth exceeded";
+            }
+            if (parentItem != null) {
+                item.setParentTempId(parentExternalId);
+            } else {
+                item.setParentTaskId(parentRef.getTaskId());
+            }
+        }
+
+        items.add(item);
+        if (externalId != null) {
+            accepted.put(externalId, item);
+            subtreePathLengths.put(externalId, pathLength + MAX_ID_DIGITS + 1);
+        }
+        return null;
+    }
+
+    private Map<String, Integer> subtreePathLengths(Collection<TaskImportRef> refs) {
+        Map<String, Integer> lengths = new HashMap<>();
+        if (refs.isEmpty()) {
+            return lengths;
+        }
+        Map<Long, String> externalIdsByTaskId = new HashMap<>();
+        refs.forEach(ref -> externalIdsByTaskId.put(ref.getTaskId(), ref.getExternalId()));
+        for (TaskNodeRow row : taskRepository.findNodesByIdIn(externalIdsByTaskId.keySet())) {
+            lengths.put(externalIdsByTaskId.get(row.id()), row.path().length() + String.valueOf(row.id()).length() + 1);
+        }
+        return lengths;
+    }
+
+    private void resolveLists(List<Parsed> chunk, Map<String, Long> listIds) {
+        for (Parsed parsed : chunk) {
+            if (parsed.record() == null) {
+                continue;
+            }
+            String name = parsed.record().listName();
+            String key = listKey(name);
+            if (listIds.containsKey(key)) {
+                continue;
+            }
+            listIds.put(key, taskListRepository.findByNameIgnoreCase(name)
+                    .map(TaskList::getId)
+                    .orElseGet(() -> importProperties.isCreateMissingLists() ? createList(name) : null));
+        }
+    }
+
+    private Long createList(String name) {
+        TaskListRequest request = new TaskListRequest();
+        request.setName(name);
+        if (!validator.validate(request).isEmpty()) {
+            return null;
+        }
+        return taskListService.create(request).getId();
+    }
+
+    private RecordReader open(ImportFormat format, InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return switch (format) {
+            case CSV -> new CsvRecordReader(reader);
+            case NDJSON -> new NdjsonRecordReader(reader, jsonMapper);
+        };
+    }
+
+    private static Parsed read(RecordReader reader, long position) throws IOException {
+        try {
+            Map<String, String> fields = reader.next();
+            return fields != null ? new Parsed(position, ImportRecord.of(fields), null) : null;
+        } catch (InvalidRecordException ex) {
+            return new Parsed(position, null, ex.getMessage());
+        }
+    }
+
+    private Spool spool(InputStream body) {
+        try {
+            Path directory = Files.createDirectories(importProperties.getSpoolDirectory());
+            Path file = Files.createTempFile(directory, "import-", ".spool");
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            long size;
+            try (InputStream in = new DigestInputStream(body, digest);
+                 OutputStream out = Files.newOutputStream(file)) {
+                size = in.transferTo(out);
+            } catch (IOException ex) {
+                deleteQuietly(file);
+                throw ex;
+            }
+            if (size == 0) {
+                deleteQuietly(file);
+                throw new BadRequestException("Import file is empty");
+            }
+            return new Spool(file, size, HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not store import upload", ex);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private ImportJob findById(Long jobId) {
+        return importJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Import not found with id: " + jobId));
+    }
+
+    private static void requireFailed(ImportJob job) {
+        if (job.getStatus() != JobStatus.FAILED) {
+            throw new BadRequestException("Only failed imports can be resumed");
+        }
+    }
+
+    private static void addIfPresent(Set<String> values, String value) {
+        if (value != null) {
+            values.add(value);
+        }
+    }
+
+    private static String listKey(String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete import spool file {}", file, ex);
+        }
+    }
+
+    private static ImportJobResponse toResponse(ImportJob job) {
+        int percent = job.getSizeBytes() > 0
+                ? (int) Math.min(100, job.getProcessedBytes() * 100 / job.getSizeBytes())
+                : 0;
+        return ImportJobResponse.builder()
+                .id(job.getId())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .sizeBytes(job.getSizeBytes())
+                .processedBytes(job.getProcessedBytes())
+                .percentComplete(percent)
+                .committedRecords(job.getCommittedRecords())
+                .createdTasks(job.getCreatedTasks())
+                .skippedRecords(job.getSkippedRecords())
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+
+    private record Parsed(long position, ImportRecord record, String error) {
+    }
+
+    private record Spool(Path file, long size, String sha256) {
+    }
+}
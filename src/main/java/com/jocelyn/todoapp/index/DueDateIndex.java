@@ -0,0 +1,279 @@
+package com.jocelyn.todoapp.index;
+
+import com.jocelyn.todoapp.dto.IndexConsistencyResponse;
+import com.jocelyn.todoapp.event.ChangeType;
+import com.jocelyn.todoapp.event.TaskChange;
+import com.jocelyn.todoapp.event.TaskListChangedEvent;
+import com.jocelyn.todoapp.event.TaskSnapshot;
+import com.jocelyn.todoapp.event.TasksChangedEvent;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+public class DueDateIndex {
+
+    public static final String NAME = "due-date";
+
+    private static final int MAX_SAMPLE_IDS = 20;
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator.comparing(Entry::createdAt)
+            .thenComparing(Entry::id)
+            .reversed();
+
+    private final TaskRepository taskRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<LocalDate, NavigableSet<Entry>> entriesByDate = new TreeMap<>();
+    private final Map<Long, Entry> entriesById = new HashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            entriesByDate.clear();
+            entriesById.clear();
+            taskRepository.findSnapshotsWithDueDate().forEach(this::add);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksChanged(TasksChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (TaskChange change : event.changes()) {
+                apply(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskListChanged(TaskListChangedEvent event) {
+        if (event.type() != ChangeType.DELETED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            List<Entry> removed = entriesById.values().stream()
+                    .filter(entry -> entry.listId().equals(event.listId()))
+                    .toList();
+            removed.forEach(entry -> remove(entry.id()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} task ids due between {@code from} and {@code to} (inclusive, either
+     * bound may be null), newest first, strictly after the given keyset position.
+     */
+    public Page page(LocalDate from, LocalDate to, boolean openOnly,
+                     LocalDateTime afterCreatedAt, Long afterId, int limit) {
+        Entry position = afterCreatedAt != null ? new Entry(afterId, null, null, false, afterCreatedAt, null) : null;
+        lock.readLock().lock();
+        try {
+            PriorityQueue<PeekingIterator> heads = new PriorityQueue<>(
+                    Comparator.<PeekingIterator, Entry>comparing(PeekingIterator::peek, NEWEST_FIRST));
+            for (NavigableSet<Entry> bucket : range(from, to).values()) {
+                NavigableSet<Entry> remaining = position != null ? bucket.tailSet(position, false) : bucket;
+                PeekingIterator iterator = new PeekingIterator(remaining.iterator(), openOnly);
+                if (iterator.peek() != null) {
+                    heads.add(iterator);
+                }
+            }
+
+            List<Long> ids = new ArrayList<>(limit);
+            while (!heads.isEmpty() && ids.size() < limit) {
+                PeekingIterator head = heads.poll();
+                ids.add(head.next().id());
+                if (head.peek() != null) {
+                    heads.add(head);
+                }
+            }
+            return new Page(ids, !heads.isEmpty());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public IndexConsistencyResponse checkConsistency() {
+        List<TaskSnapshot> persisted = taskRepository.findSnapshotsWithDueDate();
+        lock.readLock().lock();
+        try {
+            Map<Long, Entry> expected = new HashMap<>();
+            persisted.forEach(snapshot -> expected.put(snapshot.id(), Entry.of(snapshot)));
+
+            long missing = 0;
+            long mismatched = 0;
+            List<Long> sample = new ArrayList<>();
+            for (Entry entry : expected.values()) {
+                Entry indexed = entriesById.get(entry.id());
+                if (indexed == null) {
+                    missing++;
+                } else if (!indexed.matches(entry)) {
+                    mismatched++;
+                } else {
+                    continue;
+                }
+                addSample(sample, entry.id());
+            }
+
+            long unexpected = 0;
+            for (Long id : entriesById.keySet()) {
+                if (!expected.containsKey(id)) {
+                    unexpected++;
+                    addSample(sample, id);
+                }
+            }
+
+            return IndexConsistencyResponse.builder()
+                    .name(NAME)
+                    .indexedEntries(entriesById.size())
+                    .databaseEntries(expected.size())
+                    .missing(missing)
+                    .unexpected(unexpected)
+                    .mismatched(mismatched)
+                    .sampleTaskIds(sample)
+                    .consistent(missing == 0 && unexpected == 0 && mismatched == 0)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private NavigableMap<LocalDate, NavigableSet<Entry>> range(LocalDate from, LocalDate to) {
+        if (from != null && to != null) {
+            return entriesByDate.subMap(from, true, to, true);
+        }
+        if (from != null) {
+            return entriesByDate.tailMap(from, true);
+        }
+        if (to != null) {
+            return entriesByDate.headMap(to, true);
+        }
+        return entriesByDate;
+    }
+
+    private void apply(TaskChange change) {
+        Entry current = entriesById.get(change.taskId());
+        if (change.after() == null) {
+            remove(change.taskId());
+            return;
+        }
+        if (current != null && current.updatedAt() != null && change.after().updatedAt() != null
+                && current.updatedAt().isAfter(change.after().updatedAt())) {
+            return;
+        }
+        remove(change.taskId());
+        add(change.after());
+    }
+
+    private void add(TaskSnapshot snapshot) {
+        if (snapshot.dueDate() == null) {
+            return;
+        }
+        Entry entry = Entry.of(snapshot);
+        entriesById.put(entry.id(), entry);
+        entriesByDate.computeIfAbsent(entry.dueDate(), date -> new TreeSet<>(NEWEST_FIRST)).add(entry);
+    }
+
+    private void remove(Long taskId) {
+        Entry entry = entriesById.remove(taskId);
+        if (entry == null) {
+            return;
+        }
+        NavigableSet<Entry> bucket = entriesByDate.get(entry.dueDate());
+        bucket.remove(entry);
+        if (bucket.isEmpty()) {
+            entriesByDate.remove(entry.dueDate());
+        }
+    }
+
+    private static void addSample(List<Long> sample, Long id) {
+        if (sample.size() < MAX_SAMPLE_IDS) {
+            sample.add(id);
+        }
+    }
+
+    public record Page(List<Long> ids, boolean hasNext) {
+    }
+
+    private record Entry(Long id, Long listId, LocalDate dueDate, boolean completed,
+                         LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static Entry of(TaskSnapshot snapshot) {
+            return new Entry(snapshot.id(), snapshot.listId(), snapshot.dueDate(), snapshot.completed(),
+                    snapshot.createdAt(), snapshot.updatedAt());
+        }
+
+        boolean matches(Entry other) {
+            return Objects.equals(listId, other.listId)
+                    && Objects.equals(dueDate, other.dueDate)
+                    && completed == other.completed
+                    && Objects.equals(createdAt, other.createdAt);
+        }
+    }
+
+    private static final class PeekingIterator {
+
+        private final Iterator<Entry> delegate;
+        private final boolean openOnly;
+        private Entry next;
+
+        PeekingIterator(Iterator<Entry> delegate, boolean openOnly) {
+            this.delegate = delegate;
+            this.openOnly = openOnly;
+            advance();
+        }
+
+        Entry peek() {
+            return next;
+        }
+
+        Entry next() {
+            Entry current = next;
+            advance();
+            return current;
+        }
+
+        private void advance() {
+            next = null;
+            while (delegate.hasNext()) {
+                Entry candidate = delegate.next();
+                if (!openOnly || !candidate.completed()) {
+                    next = candidate;
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.jocelyn.todoapp.index;
+
+import com.jocelyn.todoapp.event.ChangeType;
+import com.jocelyn.todoapp.event.TaskChange;
+import com.jocelyn.todoapp.event.TaskListChangedEvent;
+import com.jocelyn.todoapp.event.TaskSnapshot;
+import com.jocelyn.todoapp.event.TasksChangedEvent;
+import com.jocelyn.todoapp.repository.TaskListCountRow;
+import com.jocelyn.todoapp.repository.TaskListDueCountRow;
+import com.jocelyn.todoapp.repository.TaskListRepository;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Per-list task counters kept up to date from change events. Open tasks due before today are
+ * counted in {@code overdue}; open tasks due later are bucketed by due date and moved into
+ * {@code overdue} once their date has passed, so reads never scan tasks.
+ */
+@Component
+@RequiredArgsConstructor
+public class TaskListCounters {
+
+    private final TaskRepository taskRepository;
+    private final TaskListRepository taskListRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Counter> countersByList = new ConcurrentHashMap<>();
+    private final Set<Long> deletedListIds = ConcurrentHashMap.newKeySet();
+    private volatile LocalDate today = LocalDate.now();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            countersByList.clear();
+            deletedListIds.clear();
+            deletedListIds.addAll(taskListRepository.findIdsByDeletingTrue());
+            today = LocalDate.now();
+            for (TaskListCountRow row : taskRepository.countTasksByList()) {
+                Counter counter = counter(row.listId());
+                counter.total.set(row.total());
+                counter.completed.set(row.completed() != null ? row.completed() : 0L);
+            }
+            for (TaskListDueCountRow row : taskRepository.countOpenTasksByListAndDueDate()) {
+                adjustOpenDue(counter(row.listId()), row.dueDate(), row.count());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksChanged(TasksChangedEvent event) {
+        lock.readLock().lock();
+        try {
+            for (TaskChange change : event.changes()) {
+                adjust(change.before(), -1);
+                adjust(change.after(), 1);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskListChanged(TaskListChangedEvent event) {
+        if (event.type() != ChangeType.DELETED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            deletedListIds.add(event.listId());
+            countersByList.remove(event.listId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long total(Long listId) {
+        Counter counter = countersByList.get(listId);
+        return counter != null ? counter.total.get() : 0L;
+    }
+
+    public long completed(Long listId) {
+        Counter counter = countersByList.get(listId);
+        return counter != null ? counter.completed.get() : 0L;
+    }
+
+    public long overdue(Long listId) {
+        rollForward(LocalDate.now());
+        Counter counter = countersByList.get(listId);
+        return counter != null ? counter.overdue.get() : 0L;
+    }
+
+    void rollForward(LocalDate date) {
+        if (!date.isAfter(today)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (!date.isAfter(today)) {
+                return;
+            }
+            today = date;
+            for (Counter counter : countersByList.values()) {
+                NavigableMap<LocalDate, Long> passed = counter.openByDueDate.headMap(date, false);
+                long count = passed.values().stream().mapToLong(Long::longValue).sum();
+                passed.clear();
+                counter.overdue.addAndGet(count);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void adjust(TaskSnapshot snapshot, int delta) {
+        if (snapshot == null || deletedListIds.contains(snapshot.listId())) {
+            return;
+        }
+        Counter counter = counter(snapshot.listId());
+        counter.total.addAndGet(delta);
+        if (snapshot.completed()) {
+            counter.completed.addAndGet(delta);
+        } else if (snapshot.dueDate() != null) {
+            adjustOpenDue(counter, snapshot.dueDate(), delta);
+        }
+    }
+
+    private void adjustOpenDue(Counter counter, LocalDate dueDate, long delta) {
+        if (dueDate.isBefore(today)) {
+            counter.overdue.addAndGet(delta);
+        } else {
+            counter.openByDueDate.merge(dueDate, delta, (current, added) -> {
+                long sum = current + added;
+                return sum != 0 ? sum : null;
+            });
+        }
+    }
+
+    private Counter counter(Long listId) {
+        return countersByList.computeIfAbsent(listId, id -> new Counter());
+    }
+
+    private static final class Counter {
+        private final AtomicLong total = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final AtomicLong overdue = new AtomicLong();
+        private final NavigableMap<LocalDate, Long> openByDueDate = new ConcurrentSkipListMap<>();
+    }
+}
@@ -0,0 +1,523 @@
+package com.jocelyn.todoapp.index;
+
+import com.jocelyn.todoapp.event.ChangeType;
+import com.jocelyn.todoapp.event.TaskChange;
+import com.jocelyn.todoapp.event.TaskListChangedEvent;
+import com.jocelyn.todoapp.event.TasksChangedEvent;
+import com.jocelyn.todoapp.model.Priority;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import com.jocelyn.todoapp.repository.TaskSearchRow;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+/**
+ * Inverted index over task title, description and notes. Postings are kept as sorted
+ * primitive arrays keyed by task id; ranking is tf-idf with the title weighted above the
+ * other fields, and the last query term is matched as a prefix. A query walks the postings of
+ * its terms, and of the list filter, from the highest id down with one {@link Cursor} each, so
+ * matching is a merge of sorted arrays rather than a lookup per candidate, and among equal scores
+ * the newest tasks are seen first.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskSearchIndex {
+
+    public static final String NAME = "search";
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TERM_LENGTH = 64;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int REBUILD_BATCH_SIZE = 5000;
+    private static final int RELOAD_BATCH_SIZE = 1000;
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float BODY_WEIGHT = 1f;
+    private static final Comparator<Hit> BEST_FIRST = Comparator.comparingDouble(Hit::score)
+            .thenComparingLong(Hit::id)
+            .reversed();
+
+    private final TaskRepository taskRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postingsByTerm = new TreeMap<>();
+    private final Map<Long, Postings> postingsByList = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Long, Boolean> pending = new LinkedHashMap<>();
+    private final ExecutorService reloader =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("search-index-reload").factory());
+    private boolean reloadScheduled;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            postingsByTerm.clear();
+            postingsByList.clear();
+            documents.clear();
+            long afterId = 0;
+            List<TaskSearchRow> batch;
+            do {
+                batch = taskRepository.findSearchRowsAfter(afterId, Limit.of(REBUILD_BATCH_SIZE));
+                for (TaskSearchRow row : batch) {
+                    add(row);
+                    afterId = row.id();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Queues the changed ids; their rows are re-read in batches on a background thread so the
+     * committing request does not pay for the reload.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksChanged(TasksChangedEvent event) {
+        synchronized (pending) {
+            for (TaskChange change : event.changes()) {
+                pending.remove(change.taskId());
+                pending.put(change.taskId(), change.type() == ChangeType.DELETED);
+            }
+            if (!reloadScheduled) {
+                reloadScheduled = true;
+                reloader.execute(this::reloadPending);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskListChanged(TaskListChangedEvent event) {
+        if (event.type() != ChangeType.DELETED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Postings members = postingsByList.get(event.listId());
+            if (members != null) {
+                members.stream().boxed().toList().forEach(this::remove);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        reloader.shutdown();
+    }
+
+    /**
+     * Blocks until every change queued before this call has been applied.
+     */
+    public void awaitPendingChanges() throws InterruptedException, ExecutionException {
+        reloader.submit(() -> { }).get();
+    }
+
+    private void reloadPending() {
+        Map<Long, Boolean> batch;
+        while (!(batch = takePending()).isEmpty()) {
+            try {
+                apply(batch);
+            } catch (RuntimeException ex) {
+                log.warn("Reloading {} search index entries failed; they stay queued", batch.size(), ex);
+                synchronized (pending) {
+                    batch.forEach(pending::putIfAbsent);
+                    reloadScheduled = false;
+                }
+                return;
+            }
+        }
+    }
+
+    private Map<Long, Boolean> takePending() {
+        synchronized (pending) {
+            Map<Long, Boolean> batch = new LinkedHashMap<>();
+            Iterator<Map.Entry<Long, Boolean>> iterator = pending.entrySet().iterator();
+            while (iterator.hasNext() && batch.size() < RELOAD_BATCH_SIZE) {
+                Map.Entry<Long, Boolean> entry = iterator.next();
+                batch.put(entry.getKey(), entry.getValue());
+                iterator.remove();
+            }
+            if (batch.isEmpty()) {
+                reloadScheduled = false;
+            }
+            return batch;
+        }
+    }
+
+    private void apply(Map<Long, Boolean> batch) {
+        List<Long> upserted = new ArrayList<>(batch.size());
+        batch.forEach((id, deleted) -> {
+            if (!deleted) {
+                upserted.add(id);
+            }
+        });
+        List<TaskSearchRow> rows = upserted.isEmpty() ? List.of() : taskRepository.findSearchRowsByIdIn(upserted);
+
+        lock.writeLock().lock();
+        try {
+            batch.forEach((id, deleted) -> {
+                if (deleted) {
+                    remove(id);
+                }
+            });
+            for (TaskSearchRow row : rows) {
+                Document current = documents.get(row.id());
+                if (current != null && current.updatedAt().isAfter(row.updatedAt())) {
+                    continue;
+                }
+                remove(row.id());
+                add(row);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} task ids matching every term of {@code query}, best match first.
+     * Any filter may be null.
+     */
+    public Result search(String query, Long listId, Priority priority, Boolean completed, int limit) {
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) {
+            return new Result(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Cursor> cursors = new ArrayList<>(terms.size() + 1);
+            for (int i = 0; i < terms.size(); i++) {
+                Cursor cursor = resolve(terms.get(i), i == terms.size() - 1);
+                if (cursor.isEmpty()) {
+                    return new Result(List.of(), 0);
+                }
+                cursors.add(cursor);
+            }
+            if (listId != null) {
+                Postings members = postingsByList.get(listId);
+                if (members == null) {
+                    return new Result(List.of(), 0);
+                }
+                cursors.add(new Cursor(List.of(members), new float[1]));
+            }
+            cursors.sort(Comparator.comparingInt(Cursor::estimatedSize));
+            Cursor driver = cursors.get(0);
+            List<Cursor> others = cursors.subList(1, cursors.size());
+            boolean filterDocuments = priority != null || completed != null;
+
+            PriorityQueue<Hit> top = new PriorityQueue<>(BEST_FIRST.reversed());
+            int total = 0;
+            long id = driver.advance(Long.MAX_VALUE);
+            while (id != Cursor.END) {
+                double score = driver.score();
+                long next = id;
+                for (Cursor other : others) {
+                    next = other.advance(id);
+                    if (next != id) {
+                        break;
+                    }
+                    score += other.score();
+                }
+                if (next != id) {
+                    // Leap the driver past ids another term cannot match.
+                    id = next == Cursor.END ? Cursor.END : driver.advance(next);
+                    continue;
+                }
+                if (!filterDocuments || documents.get(id).matches(priority, completed)) {
+                    total++;
+                    if (top.size() < limit) {
+                        top.add(new Hit(id, score));
+                    } else if (limit > 0 && score > top.peek().score()) {
+                        top.poll();
+                        top.add(new Hit(id, score));
+                    }
+                }
+                id = driver.advance(id - 1);
+            }
+
+            List<Hit> hits = new ArrayList<>(top);
+            hits.sort(BEST_FIRST);
+            return new Result(hits.stream().map(Hit::id).toList(), total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Cursor resolve(String term, boolean prefix) {
+        List<Postings> postings = new ArrayList<>();
+        if (prefix && term.length() >= MIN_PREFIX_LENGTH) {
+            for (Postings candidate : postingsByTerm.subMap(term, true, term + Character.MAX_VALUE, false).values()) {
+                postings.add(candidate);
+                if (postings.size() == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+            }
+        } else {
+            Postings exact = postingsByTerm.get(term);
+            if (exact != null) {
+                postings.add(exact);
+            }
+        }
+
+        int documentCount = Math.max(documents.size(), 1);
+        float[] idf = new float[postings.size()];
+        for (int i = 0; i < idf.length; i++) {
+            idf[i] = (float) Math.log(1 + (double) documentCount / postings.get(i).size());
+        }
+        return new Cursor(postings, idf);
+    }
+
+    private void add(TaskSearchRow row) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, row.title(), TITLE_WEIGHT);
+        addTerms(weights, row.description(), BODY_WEIGHT);
+        addTerms(weights, row.notes(), BODY_WEIGHT);
+
+        String[] terms = weights.keySet().toArray(String[]::new);
+        documents.put(row.id(), new Document(row.listId(), row.priority(), row.completed(), row.updatedAt(), terms));
+        postingsByList.computeIfAbsent(row.listId(), key -> new Postings()).put(row.id(), 0f);
+        weights.forEach((term, weight) -> postingsByTerm.computeIfAbsent(term, key -> new Postings())
+                .put(row.id(), (float) (1 + Math.log(weight))));
+    }
+
+    private void remove(Long taskId) {
+        Document document = documents.remove(taskId);
+        if (document == null) {
+            return;
+        }
+        Postings members = postingsByList.get(document.listId());
+        if (members != null && members.remove(taskId) && members.size() == 0) {
+            postingsByList.remove(document.listId());
+        }
+        for (String term : document.terms()) {
+            Postings postings = postingsByTerm.get(term);
+            if (postings != null && postings.remove(taskId) && postings.size() == 0) {
+                postingsByTerm.remove(term);
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && token.length() <= MAX_TERM_LENGTH) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    public record Result(List<Long> ids, int total) {
+    }
+
+    private record Hit(long id, double score) {
+    }
+
+    private record Document(Long listId, Priority priority, boolean completed, LocalDateTime updatedAt,
+                            String[] terms) {
+
+        boolean matches(Priority priorityFilter, Boolean completedFilter) {
+            return (priorityFilter == null || priorityFilter == priority)
+                    && (completedFilter == null || completedFilter == completed);
+        }
+    }
+
+    /**
+     * Walks the union of one or more postings in descending id order. The score at the current id
+     * is the best weighted match among them; a filter cursor has an idf of zero and only narrows.
+     */
+    private static final class Cursor {
+
+        static final long END = -1;
+
+        private final List<Postings> postings;
+        private final float[] idf;
+        private final int[] positions;
+        private double score;
+
+        Cursor(List<Postings> postings, float[] idf) {
+            this.postings = postings;
+            this.idf = idf;
+            this.positions = new int[postings.size()];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = postings.get(i).size() - 1;
+            }
+        }
+
+        boolean isEmpty() {
+            return postings.isEmpty();
+        }
+
+        int estimatedSize() {
+            int size = 0;
+            for (Postings list : postings) {
+                size += list.size();
+            }
+            return size;
+        }
+
+        /**
+         * Moves to the largest id at or before {@code target} and returns it, or {@link #END}.
+         * Targets must not increase between calls.
+         */
+        long advance(long target) {
+            if (positions.length == 1) {
+                Postings list = postings.get(0);
+                int position = list.seek(target, positions[0]);
+                positions[0] = position;
+                if (position < 0) {
+                    return END;
+                }
+                score = list.weightAt(position) * idf[0];
+                return list.idAt(position);
+            }
+            long next = END;
+            for (int i = 0; i < positions.length; i++) {
+                Postings list = postings.get(i);
+                positions[i] = list.seek(target, positions[i]);
+                if (positions[i] >= 0) {
+                    next = Math.max(next, list.idAt(positions[i]));
+                }
+            }
+            if (next == END) {
+                return END;
+            }
+            score = 0;
+            for (int i = 0; i < positions.length; i++) {
+                Postings list = postings.get(i);
+                if (positions[i] >= 0 && list.idAt(positions[i]) == next) {
+                    score = Math.max(score, list.weightAt(positions[i]) * idf[i]);
+                }
+            }
+            return next;
+        }
+
+        double score() {
+            return score;
+        }
+    }
+
+    private static final class Postings {
+
+        private long[] ids = new long[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        LongStream stream() {
+            return Arrays.stream(ids, 0, size);
+        }
+
+        long idAt(int index) {
+            return ids[index];
+        }
+
+        float weightAt(int index) {
+            return weights[index];
+        }
+
+        /**
+         * Returns the index of the last id at or before {@code target}, or -1, searching back from
+         * {@code from} with steps that double until they pass it.
+         */
+        int seek(long target, int from) {
+            if (from < 0 || ids[from] <= target) {
+                return from;
+            }
+            int step = 1;
+            while (from - step >= 0 && ids[from - step] > target) {
+                step <<= 1;
+            }
+            if (step == 1) {
+                return from - 1;
+            }
+            int index = Arrays.binarySearch(ids, Math.max(from - step, 0), from - (step >> 1), target);
+            return index >= 0 ? index : -index - 2;
+        }
+
+        void put(long id, float weight) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index >= 0) {
+                weights[index] = weight;
+                return;
+            }
+            int insertAt = -index - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(weights, insertAt, weights, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            weights[insertAt] = weight;
+            size++;
+        }
+
+        boolean remove(long id) {
+            int index = Arrays.binarySearch(ids, 0, size, id);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(weights, index + 1, weights, index, size - index - 1);
+            size--;
+            return true;
+        }
+    }
+}
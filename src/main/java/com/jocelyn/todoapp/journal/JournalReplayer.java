@@ -0,0 +1,95 @@
+package com.jocelyn.todoapp.journal;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Applies journal records as {@code MERGE ... KEY (ID)} and {@code DELETE ... WHERE ID = ?}.
+ * Both are idempotent, so records already reflected in the snapshot can be replayed safely.
+ */
+final class JournalReplayer implements OperationJournal.RecordHandler, AutoCloseable {
+
+    private final Connection connection;
+    private final Map<String, TableLayout> currentTables;
+    private final Map<TableLayout, Statements> statements = new IdentityHashMap<>();
+    private long records;
+
+    JournalReplayer(Connection connection, Map<String, TableLayout> currentTables) {
+        this.connection = connection;
+        this.currentTables = currentTables;
+    }
+
+    long records() {
+        return records;
+    }
+
+    @Override
+    public void apply(List<TableLayout> tables, byte[] payload) throws IOException, SQLException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        while (in.available() > 0) {
+            byte type = in.readByte();
+            TableLayout table = tables.get(in.readUnsignedShort());
+            Object[] values = new Object[type == OperationJournal.UPSERT ? table.columns().size() : 1];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = RowCodec.read(in);
+            }
+            Statements target = statements.computeIfAbsent(table, this::prepare);
+            if (target == null) {
+                continue;
+            }
+            if (type == OperationJournal.UPSERT) {
+                for (int i = 0; i < target.positions().length; i++) {
+                    target.merge().setObject(i + 1, values[target.positions()[i]]);
+                }
+                target.merge().executeUpdate();
+            } else {
+                target.delete().setObject(1, values[0]);
+                target.delete().executeUpdate();
+            }
+        }
+        records++;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        for (Statements target : statements.values()) {
+            target.merge().close();
+            target.delete().close();
+        }
+    }
+
+    private Statements prepare(TableLayout table) {
+        TableLayout current = currentTables.get(table.name());
+        if (current == null) {
+            return null;
+        }
+        List<String> columns = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < table.columns().size(); i++) {
+            if (current.columns().contains(table.columns().get(i))) {
+                columns.add(table.columns().get(i));
+                positions.add(i);
+            }
+        }
+        try {
+            return new Statements(
+                    connection.prepareStatement("MERGE INTO " + table.name() + " (" + String.join(", ", columns)
+                            + ") KEY (" + TableLayout.ID + ") VALUES (" + TableLayout.placeholders(columns.size()) + ")"),
+                    connection.prepareStatement("DELETE FROM " + table.name() + " WHERE " + TableLayout.ID + " = ?"),
+                    positions.stream().mapToInt(Integer::intValue).toArray());
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not prepare replay statements for " + table.name(), ex);
+        }
+    }
+
+    private record Statements(PreparedStatement merge, PreparedStatement delete, int[] positions) {
+    }
+}
@@ -0,0 +1,350 @@
+package com.jocelyn.todoapp.journal;
+
+import com.jocelyn.todoapp.config.JournalProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ConfigurableTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the in-memory database durable when {@code todoapp.journal.enabled} is set (the
+ * {@code durable} profile). On startup, after Flyway, it loads the latest snapshot and replays
+ * the journal tail; from then on row triggers record every committed change in the
+ * {@link OperationJournal}, and a periodic snapshot lets older segments be dropped.
+ * <p>
+ * Records must be in commit order for replay to rebuild the same state, so every writing
+ * transaction takes {@code commitLock} just before it commits and keeps it until its record is
+ * appended. If an append fails the journal no longer matches the database; it is then closed to
+ * further writes, which fail until the application is restarted from the last good record.
+ */
+@Slf4j
+@Component
+@DependsOn("flywayInitializer")
+@RequiredArgsConstructor
+public class JournalStore {
+
+    private final DataSource dataSource;
+    private final JournalProperties journalProperties;
+    private final PlatformTransactionManager transactionManager;
+    private final Map<String, Integer> tableIndexes = new HashMap<>();
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private List<TableLayout> tables = List.of();
+    private volatile OperationJournal journal;
+    private volatile IOException appendFailure;
+    private long snapshotSequence;
+
+    @PostConstruct
+    public void start() {
+        if (!journalProperties.isEnabled()) {
+            return;
+        }
+        Path directory = journalProperties.getDirectory();
+        long started = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            Files.createDirectories(directory);
+            tables = TableLayout.load(connection);
+            for (int i = 0; i < tables.size(); i++) {
+                tableIndexes.put(tables.get(i).name(), i);
+            }
+
+            long lastSequence;
+            if (isEmpty(connection)) {
+                lastSequence = restore(connection, directory);
+            } else {
+                log.warn("Database already contains data; attaching the journal without restoring");
+                Optional<Path> snapshot = SnapshotFile.latest(directory);
+                if (snapshot.isPresent()) {
+                    snapshotSequence = SnapshotFile.sequenceOf(snapshot.get());
+                }
+                lastSequence = OperationJournal.replay(directory, snapshotSequence, (layouts, payload) -> {
+                });
+            }
+
+            journal = new OperationJournal(directory, tables, lastSequence + 1,
+                    journalProperties.getSegmentSize().toBytes(), journalProperties.isSyncOnCommit());
+            JournalTrigger.attach(this);
+            installTriggers(connection);
+            if (transactionManager instanceof ConfigurableTransactionManager configurable) {
+                configurable.addListener(new CommitOrder());
+            } else {
+                throw new IllegalStateException("Journal needs a transaction manager that accepts execution listeners");
+            }
+        } catch (IOException | SQLException ex) {
+            throw new IllegalStateException("Could not open the operation journal in " + directory, ex);
+        }
+        log.info("Journal ready in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @Scheduled(fixedDelayString = "${todoapp.journal.snapshot-interval:PT5M}")
+    public synchronized void snapshot() {
+        OperationJournal current = journal;
+        if (current == null || current.lastSequence() == snapshotSequence) {
+            return;
+        }
+        long sequence = current.lastSequence();
+        Path directory = journalProperties.getDirectory();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            connection.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            Path file = SnapshotFile.write(directory, sequence, connection, tables);
+            connection.commit();
+            SnapshotFile.deleteAllExcept(directory, file);
+            current.deleteSegmentsThrough(sequence);
+            snapshotSequence = sequence;
+            log.info("Wrote journal snapshot at sequence {}", sequence);
+        } catch (IOException | SQLException ex) {
+            log.error("Writing journal snapshot failed", ex);
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        OperationJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        snapshot();
+        JournalTrigger.detach(this);
+        journal = null;
+        current.close();
+    }
+
+    void capture(String tableName, Object[] oldRow, Object[] newRow) {
+        Integer index = tableIndexes.get(tableName);
+        if (journal == null || index == null) {
+            return;
+        }
+        if (appendFailure != null) {
+            throw new IllegalStateException("Operation journal is closed to writes after a failed append",
+                    appendFailure);
+        }
+        TableLayout table = tables.get(index);
+        PendingOperations pending = pendingOperations();
+        try {
+            if (newRow != null) {
+                pending.add(OperationJournal.UPSERT, index, table.project(newRow));
+            } else {
+                pending.add(OperationJournal.DELETE, index, new Object[]{oldRow[table.idRowIndex()]});
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.afterCommit();
+        }
+    }
+
+    private PendingOperations pendingOperations() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new PendingOperations();
+        }
+        PendingOperations pending = (PendingOperations) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingOperations();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        return pending;
+    }
+
+    private long restore(Connection connection, Path directory) throws IOException, SQLException {
+        Map<String, TableLayout> tablesByName = new LinkedHashMap<>();
+        tables.forEach(table -> tablesByName.put(table.name(), table));
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        execute(connection, "SET REFERENTIAL_INTEGRITY FALSE");
+        try {
+            long rows = 0;
+            Optional<Path> snapshot = SnapshotFile.latest(directory);
+            if (snapshot.isPresent()) {
+                SnapshotFile.Loaded loaded = SnapshotFile.load(snapshot.get(), connection, tablesByName);
+                snapshotSequence = loaded.sequence();
+                rows = loaded.rows();
+            }
+            long lastSequence;
+            long records;
+            try (JournalReplayer replayer = new JournalReplayer(connection, tablesByName)) {
+                lastSequence = OperationJournal.replay(directory, snapshotSequence, replayer);
+                records = replayer.records();
+            }
+            restartIdGenerators(connection);
+            connection.commit();
+            log.info("Restored {} rows from snapshot {} and replayed {} journal records", rows, snapshotSequence,
+                    records);
+            return lastSequence;
+        } catch (IOException | SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            execute(connection, "SET REFERENTIAL_INTEGRITY TRUE");
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Moves every sequence and identity column past the highest restored id. Archived tasks keep
+     * the ids {@code tasks_seq} gave them, so one shared floor is used rather than a per-table one;
+     * the margin covers Hibernate's pooled allocation.
+     */
+    private void restartIdGenerators(Connection connection) throws SQLException {
+        long maxId = 0;
+        for (TableLayout table : tables) {
+            maxId = Math.max(maxId, queryLong(connection, "SELECT COALESCE(MAX(ID), 0) FROM " + table.name()));
+        }
+        long restartWith = maxId + 100;
+
+        List<String> statements = new ArrayList<>();
+        try (Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery("""
+                    SELECT SEQUENCE_NAME FROM INFORMATION_SCHEMA.SEQUENCES
+                    WHERE SEQUENCE_SCHEMA = 'PUBLIC' AND SEQUENCE_NAME NOT LIKE 'SYSTEM_SEQUENCE%'
+                    """)) {
+                while (rows.next()) {
+                    statements.add("ALTER SEQUENCE " + rows.getString(1) + " RESTART WITH " + restartWith);
+                }
+            }
+            try (ResultSet rows = statement.executeQuery("""
+                    SELECT TABLE_NAME, COLUMN_NAME FROM INFORMATION_SCHEMA.COLUMNS
+                    WHERE TABLE_SCHEMA = 'PUBLIC' AND IS_IDENTITY = 'YES'
+                    """)) {
+                while (rows.next()) {
+                    statements.add("ALTER TABLE " + rows.getString(1) + " ALTER COLUMN " + rows.getString(2)
+                            + " RESTART WITH " + restartWith);
+                }
+            }
+        }
+        for (String sql : statements) {
+            execute(connection, sql);
+        }
+    }
+
+    private void installTriggers(Connection connection) throws SQLException {
+        for (TableLayout table : tables) {
+            execute(connection, "CREATE TRIGGER IF NOT EXISTS JOURNAL_" + table.name()
+                    + " AFTER INSERT, UPDATE, DELETE ON " + table.name()
+                    + " FOR EACH ROW CALL '" + JournalTrigger.class.getName() + "'");
+        }
+    }
+
+    private boolean isEmpty(Connection connection) throws SQLException {
+        for (TableLayout table : tables) {
+            if (queryLong(connection, "SELECT COUNT(*) FROM (SELECT 1 FROM " + table.name() + " LIMIT 1)") > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private void append(OperationJournal current, byte[] payload) {
+        try {
+            current.append(payload);
+        } catch (IOException ex) {
+            appendFailure = ex;
+            log.error("Could not append to the operation journal; rejecting writes until restart", ex);
+            throw new UncheckedIOException("Could not append to the operation journal", ex);
+        }
+    }
+
+    /**
+     * Takes {@code commitLock} right before a writing transaction commits and releases it once the
+     * transaction has completed, after its {@link PendingOperations} were appended.
+     */
+    private final class CommitOrder implements TransactionExecutionListener {
+
+        @Override
+        public void beforeCommit(TransactionExecution transaction) {
+            if (journal == null || transaction.isReadOnly()
+                    || !TransactionSynchronizationManager.isSynchronizationActive()) {
+                return;
+            }
+            commitLock.lock();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    commitLock.unlock();
+                }
+            });
+        }
+    }
+
+    /**
+     * Row changes of one transaction, appended to the journal as a single record after commit.
+     * It runs ahead of other synchronizations so that transactions they start afterwards are
+     * journaled after this one.
+     */
+    private final class PendingOperations implements TransactionSynchronization {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+
+        void add(byte type, int table, Object[] values) throws IOException {
+            out.writeByte(type);
+            out.writeShort(table);
+            for (Object value : values) {
+                RowCodec.write(out, value);
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public void afterCommit() {
+            OperationJournal current = journal;
+            if (current == null || bytes.size() == 0) {
+                return;
+            }
+            append(current, bytes.toByteArray());
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(JournalStore.this);
+        }
+    }
+}
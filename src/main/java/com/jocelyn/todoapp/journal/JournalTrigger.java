@@ -0,0 +1,40 @@
+package com.jocelyn.todoapp.journal;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+
+/**
+ * Row-level H2 trigger that hands every insert, update and delete on a journaled table to the
+ * active {@link JournalStore}. H2 instantiates triggers by class name, hence the static hand-off.
+ */
+public class JournalTrigger implements Trigger {
+
+    private static volatile JournalStore store;
+
+    private String tableName;
+
+    static void attach(JournalStore journalStore) {
+        store = journalStore;
+    }
+
+    static void detach(JournalStore journalStore) {
+        if (store == journalStore) {
+            store = null;
+        }
+    }
+
+    @Override
+    public void init(Connection connection, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) {
+        this.tableName = tableName;
+    }
+
+    @Override
+    public void fire(Connection connection, Object[] oldRow, Object[] newRow) {
+        JournalStore current = store;
+        if (current != null) {
+            current.capture(tableName, oldRow, newRow);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.jocelyn.todoapp.journal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of committed row changes, written to memory-mapped segment files. Each segment
+ * starts with the table layouts its records refer to; each record is
+ * {@code [length][crc32c][sequence][payload]} and a zero length marks the end of the written part.
+ * Sequences are contiguous across segments, so replay stops at the first torn or missing record.
+ */
+final class OperationJournal implements Closeable {
+
+    static final byte UPSERT = 1;
+    static final byte DELETE = 2;
+
+    private static final int MAGIC = 0x544A524E;
+    private static final int FORMAT_VERSION = 1;
+    private static final int RECORD_HEADER = Integer.BYTES + Integer.BYTES + Long.BYTES;
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path directory;
+    private final byte[] header;
+    private final long segmentSize;
+    private final boolean syncOnAppend;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private volatile long nextSequence;
+
+    OperationJournal(Path directory, List<TableLayout> tables, long nextSequence, long segmentSize,
+                     boolean syncOnAppend) throws IOException {
+        this.directory = directory;
+        this.header = header(tables);
+        this.segmentSize = segmentSize;
+        this.syncOnAppend = syncOnAppend;
+        this.nextSequence = nextSequence;
+        for (Path segment : segments(directory)) {
+            if (firstSequence(segment) >= nextSequence) {
+                Files.delete(segment);
+            }
+        }
+    }
+
+    long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    synchronized long append(byte[] payload) throws IOException {
+        int recordLength = RECORD_HEADER + payload.length;
+        if (buffer == null || buffer.remaining() < recordLength + Integer.BYTES) {
+            openSegment(recordLength);
+        }
+        long sequence = nextSequence;
+        int start = buffer.position();
+        buffer.putInt(0);
+        buffer.putInt(0);
+        buffer.putLong(sequence);
+        buffer.put(payload);
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(start + Integer.BYTES * 2, Long.BYTES + payload.length));
+        buffer.putInt(start + Integer.BYTES, (int) crc.getValue());
+        buffer.putInt(start, payload.length);
+        if (syncOnAppend) {
+            buffer.force();
+        }
+        nextSequence = sequence + 1;
+        return sequence;
+    }
+
+    /**
+     * Deletes segments whose records all have a sequence at or below {@code sequence}.
+     */
+    synchronized void deleteSegmentsThrough(long sequence) throws IOException {
+        List<Path> segments = segments(directory);
+        for (int i = 0; i + 1 < segments.size(); i++) {
+            if (firstSequence(segments.get(i + 1)) <= sequence + 1) {
+                Files.delete(segments.get(i));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            buffer.force();
+            channel.close();
+            channel = null;
+            buffer = null;
+        }
+    }
+
+    /**
+     * Passes every record after {@code afterSequence} to {@code handler}, in order, and returns
+     * the sequence of the last one.
+     */
+    static long replay(Path directory, long afterSequence, RecordHandler handler) throws IOException, SQLException {
+        long expected = afterSequence + 1;
+        List<Path> segments = segments(directory);
+        for (int i = 0; i < segments.size(); i++) {
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= expected) {
+                continue;
+            }
+            try (FileChannel segment = FileChannel.open(segments.get(i), StandardOpenOption.READ)) {
+                ByteBuffer data = segment.map(FileChannel.MapMode.READ_ONLY, 0, segment.size());
+                List<TableLayout> tables = readHeader(data);
+                while (data.remaining() >= RECORD_HEADER) {
+                    int start = data.position();
+                    int length = data.getInt();
+                    int checksum = data.getInt();
+                    if (length <= 0 || length > data.remaining() - Long.BYTES) {
+                        break;
+                    }
+                    CRC32C crc = new CRC32C();
+                    crc.update(data.slice(start + Integer.BYTES * 2, Long.BYTES + length));
+                    if ((int) crc.getValue() != checksum) {
+                        break;
+                    }
+                    long sequence = data.getLong();
+                    byte[] payload = new byte[length];
+                    data.get(payload);
+                    if (sequence > expected) {
+                        return expected - 1;
+                    }
+                    if (sequence == expected) {
+                        handler.apply(tables, payload);
+                        expected++;
+                    }
+                }
+            } catch (BufferUnderflowException ex) {
+                // Segment truncated inside its header; nothing in it can be replayed.
+            }
+        }
+        return expected - 1;
+    }
+
+    private void openSegment(int recordLength) throws IOException {
+        close();
+        long size = Math.max(segmentSize, (long) header.length + recordLength + Integer.BYTES);
+        Path segment = directory.resolve(PREFIX + "%020d".formatted(nextSequence) + SUFFIX);
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        buffer.put(header);
+    }
+
+    private static byte[] header(List<TableLayout> tables) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeShort(tables.size());
+            for (TableLayout table : tables) {
+                table.write(out);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static List<TableLayout> readHeader(ByteBuffer data) throws IOException {
+        if (data.getInt() != MAGIC || data.getInt() != FORMAT_VERSION) {
+            throw new IOException("Not a journal segment");
+        }
+        DataInputStream in = new DataInputStream(new ByteBufferInputStream(data));
+        int count = in.readUnsignedShort();
+        List<TableLayout> tables = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tables.add(TableLayout.read(in));
+        }
+        return tables;
+    }
+
+    private static List<Path> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long firstSequence(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    @FunctionalInterface
+    interface RecordHandler {
+        void apply(List<TableLayout> tables, byte[] payload) throws IOException, SQLException;
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer data;
+
+        ByteBufferInputStream(ByteBuffer data) {
+            this.data = data;
+        }
+
+        @Override
+        public int read() {
+            return data.hasRemaining() ? data.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!data.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, data.remaining());
+            data.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
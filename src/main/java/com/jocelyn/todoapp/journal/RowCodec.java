@@ -0,0 +1,91 @@
+package com.jocelyn.todoapp.journal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Tagged binary encoding for the column values that appear in this schema.
+ */
+final class RowCodec {
+
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte INT = 2;
+    private static final byte BOOLEAN = 3;
+    private static final byte STRING = 4;
+    private static final byte DATE = 5;
+    private static final byte TIMESTAMP = 6;
+    private static final byte DOUBLE = 7;
+
+    private RowCodec() {
+    }
+
+    static void write(DataOutput out, Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(NULL);
+            case Long number -> {
+                out.writeByte(LONG);
+                out.writeLong(number);
+            }
+            case Integer number -> {
+                out.writeByte(INT);
+                out.writeInt(number);
+            }
+            case Short number -> {
+                out.writeByte(INT);
+                out.writeInt(number);
+            }
+            case Boolean flag -> {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(flag);
+            }
+            case String text -> {
+                byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+                out.writeByte(STRING);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            case LocalDate date -> {
+                out.writeByte(DATE);
+                out.writeLong(date.toEpochDay());
+            }
+            case java.sql.Date date -> write(out, date.toLocalDate());
+            case LocalDateTime timestamp -> {
+                out.writeByte(TIMESTAMP);
+                out.writeLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+                out.writeInt(timestamp.getNano());
+            }
+            case Timestamp timestamp -> write(out, timestamp.toLocalDateTime());
+            case Double number -> {
+                out.writeByte(DOUBLE);
+                out.writeDouble(number);
+            }
+            default -> throw new IllegalArgumentException("Unsupported column value type: " + value.getClass().getName());
+        }
+    }
+
+    static Object read(DataInput in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case NULL -> null;
+            case LONG -> in.readLong();
+            case INT -> in.readInt();
+            case BOOLEAN -> in.readBoolean();
+            case STRING -> {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                yield new String(bytes, StandardCharsets.UTF_8);
+            }
+            case DATE -> LocalDate.ofEpochDay(in.readLong());
+            case TIMESTAMP -> LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+            case DOUBLE -> in.readDouble();
+            default -> throw new IOException("Unknown column value tag: " + tag);
+        };
+    }
+}
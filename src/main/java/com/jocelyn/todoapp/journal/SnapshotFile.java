@@ -0,0 +1,157 @@
+package com.jocelyn.todoapp.journal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Compact copy of every journaled table as of a journal sequence: per table its layout, then
+ * {@code 1} + values for each row and a {@code 0} terminator. Files are written under a temporary
+ * name and moved into place, so a snapshot on disk is always complete.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x54534E50;
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int INSERT_BATCH_SIZE = 1000;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    private SnapshotFile() {
+    }
+
+    static Path write(Path directory, long sequence, Connection connection, List<TableLayout> tables)
+            throws IOException, SQLException {
+        Path target = directory.resolve(PREFIX + "%020d".formatted(sequence) + SUFFIX);
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(sequence);
+            out.writeShort(tables.size());
+            for (TableLayout table : tables) {
+                table.write(out);
+                try (Statement statement = connection.createStatement()) {
+                    statement.setFetchSize(INSERT_BATCH_SIZE);
+                    try (ResultSet rows = statement.executeQuery(
+                            "SELECT " + String.join(", ", table.columns()) + " FROM " + table.name())) {
+                        int columns = table.columns().size();
+                        while (rows.next()) {
+                            out.writeByte(1);
+                            for (int i = 1; i <= columns; i++) {
+                                RowCodec.write(out, rows.getObject(i));
+                            }
+                        }
+                    }
+                }
+                out.writeByte(0);
+            }
+        }
+        Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return target;
+    }
+
+    static Optional<Path> latest(Path directory) throws IOException {
+        List<Path> snapshots = snapshots(directory);
+        return snapshots.isEmpty() ? Optional.empty() : Optional.of(snapshots.get(snapshots.size() - 1));
+    }
+
+    /**
+     * Inserts the rows of {@code file} into the matching current tables, ignoring tables and
+     * columns that no longer exist.
+     */
+    static Loaded load(Path file, Connection connection, Map<String, TableLayout> currentTables)
+            throws IOException, SQLException {
+        long rowCount = 0;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a journal snapshot: " + file);
+            }
+            long sequence = in.readLong();
+            int tableCount = in.readUnsignedShort();
+            for (int t = 0; t < tableCount; t++) {
+                TableLayout stored = TableLayout.read(in);
+                TableLayout current = currentTables.get(stored.name());
+                List<String> columns = new ArrayList<>();
+                List<Integer> positions = new ArrayList<>();
+                for (int i = 0; i < stored.columns().size(); i++) {
+                    if (current != null && current.columns().contains(stored.columns().get(i))) {
+                        columns.add(stored.columns().get(i));
+                        positions.add(i);
+                    }
+                }
+
+                String sql = "INSERT INTO " + stored.name() + " (" + String.join(", ", columns) + ") VALUES ("
+                        + TableLayout.placeholders(columns.size()) + ")";
+                try (PreparedStatement insert = current != null ? connection.prepareStatement(sql) : null) {
+                    Object[] values = new Object[stored.columns().size()];
+                    int batched = 0;
+                    while (in.readByte() == 1) {
+                        for (int i = 0; i < values.length; i++) {
+                            values[i] = RowCodec.read(in);
+                        }
+                        if (insert == null) {
+                            continue;
+                        }
+                        for (int i = 0; i < positions.size(); i++) {
+                            insert.setObject(i + 1, values[positions.get(i)]);
+                        }
+                        insert.addBatch();
+                        rowCount++;
+                        if (++batched == INSERT_BATCH_SIZE) {
+                            insert.executeBatch();
+                            batched = 0;
+                        }
+                    }
+                    if (insert != null && batched > 0) {
+                        insert.executeBatch();
+                    }
+                }
+            }
+            return new Loaded(sequence, rowCount);
+        }
+    }
+
+    static long sequenceOf(Path snapshot) {
+        String name = snapshot.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    static void deleteAllExcept(Path directory, Path keep) throws IOException {
+        for (Path snapshot : snapshots(directory)) {
+            if (!snapshot.equals(keep)) {
+                Files.delete(snapshot);
+            }
+        }
+    }
+
+    private static List<Path> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    record Loaded(long sequence, long rows) {
+    }
+}
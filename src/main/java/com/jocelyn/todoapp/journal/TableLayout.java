@@ -0,0 +1,105 @@
+package com.jocelyn.todoapp.journal;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The stored (non-generated) columns of a journaled table. {@code rowIndexes} locates each
+ * column in the full row arrays H2 hands to triggers; layouts read back from a journal segment
+ * or snapshot describe already-projected rows.
+ */
+record TableLayout(String name, List<String> columns, int[] rowIndexes, int idRowIndex) {
+
+    static final String ID = "ID";
+
+    private static final String COLUMNS_SQL = """
+            SELECT c.TABLE_NAME, c.COLUMN_NAME, c.ORDINAL_POSITION, c.IS_GENERATED
+            FROM INFORMATION_SCHEMA.COLUMNS c
+            JOIN INFORMATION_SCHEMA.TABLES t ON t.TABLE_SCHEMA = c.TABLE_SCHEMA AND t.TABLE_NAME = c.TABLE_NAME
+            WHERE c.TABLE_SCHEMA = 'PUBLIC'
+              AND t.TABLE_TYPE = 'BASE TABLE'
+              AND UPPER(c.TABLE_NAME) <> 'FLYWAY_SCHEMA_HISTORY'
+            ORDER BY c.TABLE_NAME, c.ORDINAL_POSITION
+            """;
+
+    /**
+     * Reads the layout of every application table that has an {@code ID} primary key.
+     */
+    static List<TableLayout> load(Connection connection) throws SQLException {
+        List<TableLayout> layouts = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(COLUMNS_SQL)) {
+            String table = null;
+            List<String> columns = new ArrayList<>();
+            List<Integer> indexes = new ArrayList<>();
+            int idRowIndex = -1;
+            while (rows.next()) {
+                if (!rows.getString(1).equals(table)) {
+                    addIfKeyed(layouts, table, columns, indexes, idRowIndex);
+                    table = rows.getString(1);
+                    columns = new ArrayList<>();
+                    indexes = new ArrayList<>();
+                    idRowIndex = -1;
+                }
+                int rowIndex = rows.getInt(3) - 1;
+                if (ID.equals(rows.getString(2))) {
+                    idRowIndex = rowIndex;
+                }
+                if ("NEVER".equals(rows.getString(4))) {
+                    columns.add(rows.getString(2));
+                    indexes.add(rowIndex);
+                }
+            }
+            addIfKeyed(layouts, table, columns, indexes, idRowIndex);
+        }
+        return layouts;
+    }
+
+    static TableLayout read(DataInput in) throws IOException {
+        String name = in.readUTF();
+        int count = in.readUnsignedShort();
+        List<String> columns = new ArrayList<>(count);
+        int[] indexes = new int[count];
+        for (int i = 0; i < count; i++) {
+            columns.add(in.readUTF());
+            indexes[i] = i;
+        }
+        return new TableLayout(name, List.copyOf(columns), indexes, columns.indexOf(ID));
+    }
+
+    void write(DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeShort(columns.size());
+        for (String column : columns) {
+            out.writeUTF(column);
+        }
+    }
+
+    Object[] project(Object[] row) {
+        Object[] values = new Object[rowIndexes.length];
+        for (int i = 0; i < rowIndexes.length; i++) {
+            values[i] = row[rowIndexes[i]];
+        }
+        return values;
+    }
+
+    static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static void addIfKeyed(List<TableLayout> layouts, String table, List<String> columns,
+                                   List<Integer> indexes, int idRowIndex) {
+        if (table != null && idRowIndex >= 0) {
+            layouts.add(new TableLayout(table, List.copyOf(columns),
+                    indexes.stream().mapToInt(Integer::intValue).toArray(), idRowIndex));
+        }
+    }
+}
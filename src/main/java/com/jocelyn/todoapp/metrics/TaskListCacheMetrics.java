@@ -0,0 +1,34 @@
+package com.jocelyn.todoapp.metrics;
+
+import com.jocelyn.todoapp.service.TaskListCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class TaskListCacheMetrics implements MeterBinder {
+
+    private final TaskListCache taskListCache;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("cache.size", taskListCache, cache -> cache.stats().getSize())
+                .tag("cache", TaskListCache.NAME)
+                .register(registry);
+        FunctionCounter.builder("cache.gets", taskListCache, cache -> cache.stats().getHits())
+                .tag("cache", TaskListCache.NAME)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", taskListCache, cache -> cache.stats().getMisses())
+                .tag("cache", TaskListCache.NAME)
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", taskListCache, cache -> cache.stats().getEvictions())
+                .tag("cache", TaskListCache.NAME)
+                .register(registry);
+    }
+}
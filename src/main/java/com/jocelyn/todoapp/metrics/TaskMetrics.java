@@ -0,0 +1,54 @@
+package com.jocelyn.todoapp.metrics;
+
+import com.jocelyn.todoapp.repository.TaskRow;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class TaskMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger treeDepth = new AtomicInteger();
+    private final AtomicInteger treeWidth = new AtomicInteger();
+
+    public TaskMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("todoapp.tasks.tree.depth", treeDepth);
+        meterRegistry.gauge("todoapp.tasks.tree.width", treeWidth);
+    }
+
+    public void recordResultSize(String operation, int size) {
+        DistributionSummary.builder("todoapp.tasks.result.size")
+                .description("Number of tasks returned by a read operation")
+                .baseUnit("tasks")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    public void recordTree(String operation, List<TaskRow> rows) {
+        recordResultSize(operation, rows.size());
+        if (rows.isEmpty()) {
+            treeDepth.set(0);
+            treeWidth.set(0);
+            return;
+        }
+
+        int minDepth = Integer.MAX_VALUE;
+        Map<Integer, Integer> nodesPerDepth = new HashMap<>();
+        for (TaskRow row : rows) {
+            minDepth = Math.min(minDepth, row.depth());
+            nodesPerDepth.merge(row.depth(), 1, Integer::sum);
+        }
+        int maxDepth = nodesPerDepth.keySet().stream().mapToInt(Integer::intValue).max().orElse(minDepth);
+        treeDepth.set(maxDepth - minDepth + 1);
+        treeWidth.set(nodesPerDepth.values().stream().mapToInt(Integer::intValue).max().orElse(0));
+    }
+}
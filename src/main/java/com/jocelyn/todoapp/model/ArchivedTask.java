@@ -0,0 +1,87 @@
+package com.jocelyn.todoapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A task moved to the archive tier. Rows are written and removed with set-based statements in
+ * {@code ArchivedTaskRepository} and are read-only through JPA.
+ */
+@Entity
+@Immutable
+@Table(name = "archived_tasks")
+@Getter
+@NoArgsConstructor
+public class ArchivedTask {
+
+    @Id
+    private Long id;
+
+    @Column(name = "root_id", nullable = false)
+    private Long rootId;
+
+    @Column(name = "list_id", nullable = false)
+    private Long listId;
+
+    @Column(name = "parent_task_id")
+    private Long parentTaskId;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(length = 5000)
+    private String description;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private Priority priority;
+
+    @Column(length = 5000)
+    private String notes;
+
+    private String location;
+
+    @Column(name = "meeting_link", length = 1024)
+    private String meetingLink;
+
+    @Column(nullable = false, length = Task.MAX_PATH_LENGTH)
+    private String path;
+
+    @Column(nullable = false)
+    private int depth;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    public boolean isRoot() {
+        return id.equals(rootId);
+    }
+}
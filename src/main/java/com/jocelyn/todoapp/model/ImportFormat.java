@@ -0,0 +1,6 @@
+package com.jocelyn.todoapp.model;
+
+public enum ImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,8 @@
+package com.jocelyn.todoapp.model;
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
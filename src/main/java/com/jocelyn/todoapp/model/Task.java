@@ -12,17 +12,23 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
+@DynamicUpdate
 @Table(name = "tasks")
 @Getter
 @Setter
@@ -31,13 +37,18 @@ import java.time.LocalDateTime;
 @Builder
 public class Task {
 
+    public static final String ROOT_PATH = "/";
+    public static final int MAX_PATH_LENGTH = 4000;
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String title;
 
+    @Column(length = 5000)
     private String description;
 
     @Column(nullable = false)
@@ -47,14 +58,16 @@ public class Task {
     private LocalDate dueDate;
 
     @Enumerated(EnumType.STRING)
-    @Column(nullable = false)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
     private Priority priority;
 
+    @Column(length = 5000)
     private String notes;
 
     private String location;
 
-    @Column(name = "meeting_link")
+    @Column(name = "meeting_link", length = 1024)
     private String meetingLink;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
@@ -65,6 +78,16 @@ public class Task {
     @JoinColumn(name = "parent_task_id")
     private Task parentTask;
 
+    @Column(nullable = false, length = MAX_PATH_LENGTH)
+    private String path;
+
+    @Column(nullable = false)
+    private int depth;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -88,4 +111,12 @@ public class Task {
             this.priority = Priority.MEDIUM;
         }
     }
+
+    public String subtreePath() {
+        return path + id + "/";
+    }
+
+    public boolean isAncestorOf(Task other) {
+        return other.getPath().startsWith(subtreePath());
+    }
 }
@@ -0,0 +1,45 @@
+package com.jocelyn.todoapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Maps an import file's external id to the task created for it, so parent references can be
+ * resolved across chunks and after a resume.
+ */
+@Entity
+@Table(name = "task_import_refs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskImportRef {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_import_refs_seq")
+    @SequenceGenerator(name = "task_import_refs_seq", sequenceName = "task_import_refs_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "job_id", nullable = false)
+    private Long jobId;
+
+    @Column(name = "external_id", nullable = false, length = 64)
+    private String externalId;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    @Column(name = "list_id", nullable = false)
+    private Long listId;
+}
@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -26,15 +27,25 @@ import java.time.LocalDateTime;
 public class TaskList {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_lists_seq")
+    @SequenceGenerator(name = "task_lists_seq", sequenceName = "task_lists_seq", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String name;
 
+    @Column(name = "name_key", insertable = false, updatable = false)
+    private String nameKey;
+
     @Column(name = "is_system_defined", nullable = false)
     private boolean systemDefined;
 
+    @Column(nullable = false)
+    private boolean deleting;
+
+    @Column(name = "data_version", nullable = false, updatable = false)
+    private long dataVersion;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
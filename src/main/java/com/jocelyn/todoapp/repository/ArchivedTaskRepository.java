@@ -0,0 +1,73 @@
+package com.jocelyn.todoapp.repository;
+
+import com.jocelyn.todoapp.model.ArchivedTask;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ArchivedTaskRepository extends JpaRepository<ArchivedTask, Long> {
+
+    @Query("""
+            SELECT a FROM ArchivedTask a
+            WHERE a.id < :beforeId
+              AND (:listId IS NULL OR a.listId = :listId)
+              AND (:pattern IS NULL OR UPPER(a.title) LIKE :pattern OR UPPER(a.notes) LIKE :pattern)
+            ORDER BY a.id DESC
+            """)
+    List<ArchivedTask> search(@Param("listId") Long listId,
+                              @Param("pattern") String pattern,
+                              @Param("beforeId") Long beforeId,
+                              Limit limit);
+
+    @Query("SELECT MAX(LENGTH(a.path)) FROM ArchivedTask a WHERE a.rootId = :rootId")
+    Integer findMaxPathLength(@Param("rootId") Long rootId);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO archived_tasks (id, root_id, list_id, parent_task_id, title, description, completed,
+                                        due_date, priority, notes, location, meeting_link, path, depth, version,
+                                        created_at, updated_at, archived_at)
+            SELECT id, :rootId, list_id, parent_task_id, title, description, completed,
+                   due_date, priority, notes, location, meeting_link, path, depth, version,
+                   created_at, updated_at, :archivedAt
+            FROM tasks WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int archive(@Param("rootId") Long rootId,
+                @Param("ids") List<Long> ids,
+                @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Copies an archived subtree back into {@code tasks}, parents first, re-rooting every path
+     * from {@code oldRootPath} to {@code newRootPath}.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO tasks (id, list_id, parent_task_id, title, description, completed, due_date, priority,
+                               notes, location, meeting_link, path, depth, version, created_at, updated_at)
+            SELECT id, list_id, CASE WHEN id = :rootId THEN :parentTaskId ELSE parent_task_id END,
+                   title, description, completed, due_date, priority, notes, location, meeting_link,
+                   CONCAT(:newRootPath, SUBSTRING(path, :oldRootPathLength + 1)), depth + :depthDelta,
+                   version + 1, created_at, :restoredAt
+            FROM archived_tasks WHERE root_id = :rootId
+            ORDER BY depth
+            """, nativeQuery = true)
+    int restore(@Param("rootId") Long rootId,
+                @Param("parentTaskId") Long parentTaskId,
+                @Param("newRootPath") String newRootPath,
+                @Param("oldRootPathLength") int oldRootPathLength,
+                @Param("depthDelta") int depthDelta,
+                @Param("restoredAt") LocalDateTime restoredAt);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedTask a WHERE a.rootId = :rootId")
+    int deleteByRootId(@Param("rootId") Long rootId);
+
+    @Modifying
+    @Query("DELETE FROM ArchivedTask a WHERE a.listId = :listId")
+    int deleteByListId(@Param("listId") Long listId);
+}
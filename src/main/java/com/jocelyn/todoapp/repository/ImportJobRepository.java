@@ -0,0 +1,19 @@
+package com.jocelyn.todoapp.repository;
+
+import com.jocelyn.todoapp.model.ImportJob;
+import com.jocelyn.todoapp.model.JobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :to, j.lastError = :error WHERE j.status IN :from")
+    int updateStatus(@Param("from") Collection<JobStatus> from,
+                     @Param("to") JobStatus to,
+                     @Param("error") String error);
+}
@@ -0,0 +1,20 @@
+package com.jocelyn.todoapp.repository;
+
+import com.jocelyn.todoapp.model.JobStatus;
+import com.jocelyn.todoapp.model.ListDeletionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ListDeletionJobRepository extends JpaRepository<ListDeletionJob, Long> {
+
+    List<ListDeletionJob> findByStatusIn(Collection<JobStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE ListDeletionJob j SET j.deletedTasks = j.deletedTasks + :deleted WHERE j.id = :id")
+    int addDeletedTasks(@Param("id") Long id, @Param("deleted") long deleted);
+}
@@ -0,0 +1,50 @@
+package com.jocelyn.todoapp.repository;
+
+import java.util.Optional;
+
+/**
+ * Task attributes that can be requested individually, with their JSON name and the JPQL path
+ * they are read from ({@code t} is the task, {@code p} its parent).
+ */
+public enum TaskField {
+    ID("id", "t.id"),
+    TITLE("title", "t.title"),
+    DESCRIPTION("description", "t.description"),
+    COMPLETED("completed", "t.completed"),
+    DUE_DATE("dueDate", "t.dueDate"),
+    PRIORITY("priority", "t.priority"),
+    NOTES("notes", "t.notes"),
+    LOCATION("location", "t.location"),
+    MEETING_LINK("meetingLink", "t.meetingLink"),
+    LIST_ID("listId", "t.taskList.id"),
+    PARENT_TASK_ID("parentTaskId", "p.id"),
+    DEPTH("depth", "t.depth"),
+    CREATED_AT("createdAt", "t.createdAt"),
+    UPDATED_AT("updatedAt", "t.updatedAt"),
+    VERSION("version", "t.version");
+
+    private final String jsonName;
+    private final String path;
+
+    TaskField(String jsonName, String path) {
+        this.jsonName = jsonName;
+        this.path = path;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    String path() {
+        return path;
+    }
+
+    public static Optional<TaskField> fromJsonName(String name) {
+        for (TaskField field : values()) {
+            if (field.jsonName.equals(name)) {
+                return Optional.of(field);
+            }
+        }
+        return Optional.empty();
+    }
+}
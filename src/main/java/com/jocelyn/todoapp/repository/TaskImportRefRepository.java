@@ -0,0 +1,19 @@
+package com.jocelyn.todoapp.repository;
+
+import com.jocelyn.todoapp.model.TaskImportRef;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskImportRefRepository extends JpaRepository<TaskImportRef, Long> {
+
+    List<TaskImportRef> findByJobIdAndExternalIdIn(Long jobId, Collection<String> externalIds);
+
+    @Modifying
+    @Query("DELETE FROM TaskImportRef r WHERE r.jobId = :jobId")
+    int deleteByJobId(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,4 @@
+package com.jocelyn.todoapp.repository;
+
+public record TaskListCountRow(Long listId, Long total, Long completed) {
+}
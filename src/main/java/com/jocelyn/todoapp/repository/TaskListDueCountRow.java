@@ -0,0 +1,6 @@
+package com.jocelyn.todoapp.repository;
+
+import java.time.LocalDate;
+
+public record TaskListDueCountRow(Long listId, LocalDate dueDate, Long count) {
+}
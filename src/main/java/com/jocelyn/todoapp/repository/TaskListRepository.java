@@ -2,11 +2,30 @@ package com.jocelyn.todoapp.repository;
 
 import com.jocelyn.todoapp.model.TaskList;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface TaskListRepository extends JpaRepository<TaskList, Long> {
-    Optional<TaskList> findByNameIgnoreCase(String name);
+    @Query("SELECT l FROM TaskList l WHERE l.nameKey = UPPER(:name)")
+    Optional<TaskList> findByNameIgnoreCase(@Param("name") String name);
 
-    boolean existsByNameIgnoreCase(String name);
+    List<TaskList> findByDeletingFalse();
+
+    @Query("SELECT l.id FROM TaskList l WHERE l.deleting = true")
+    List<Long> findIdsByDeletingTrue();
+
+    @Query("SELECT CASE WHEN COUNT(l) > 0 THEN true ELSE false END FROM TaskList l WHERE l.nameKey = UPPER(:name)")
+    boolean existsByNameIgnoreCase(@Param("name") String name);
+
+    @Query("SELECT l.dataVersion FROM TaskList l WHERE l.id = :id AND l.deleting = false")
+    Optional<Long> findDataVersionById(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE TaskList l SET l.dataVersion = l.dataVersion + 1 WHERE l.id IN :ids")
+    int incrementDataVersion(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,26 @@
+package com.jocelyn.todoapp.repository;
+
+import com.jocelyn.todoapp.event.TaskSnapshot;
+import com.jocelyn.todoapp.model.Priority;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+public record TaskNodeRow(Long id, Long listId, Long parentTaskId, LocalDate dueDate, boolean completed,
+                          Priority priority, LocalDateTime createdAt, LocalDateTime updatedAt,
+                          String path, int depth) {
+
+    public TaskSnapshot snapshot() {
+        return new TaskSnapshot(id, listId, parentTaskId, dueDate, completed, priority, createdAt, updatedAt);
+    }
+
+    public boolean hasAncestorIn(Set<Long> ids) {
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty() && ids.contains(Long.valueOf(segment))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package com.jocelyn.todoapp.repository;
+
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Set;
+
+public interface TaskProjectionRepository {
+
+    /**
+     * Returns matching tasks newest first, reading only {@code fields} (plus the id and creation
+     * time used for ordering) from the database. Components of {@link TaskRow} that were not
+     * selected are null, false or zero.
+     */
+    List<TaskRow> findRows(Set<TaskField> fields, TaskRowQuery query, Limit limit);
+}
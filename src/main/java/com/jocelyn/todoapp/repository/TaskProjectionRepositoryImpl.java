@@ -0,0 +1,114 @@
+package com.jocelyn.todoapp.repository;
+
+import com.jocelyn.todoapp.model.Priority;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskRow> findRows(Set<TaskField> fields, TaskRowQuery query, Limit limit) {
+        Set<TaskField> selected = EnumSet.of(TaskField.ID, TaskField.CREATED_AT);
+        selected.addAll(fields);
+
+        StringBuilder jpql = new StringBuilder("SELECT ")
+                .append(selected.stream()
+                        .map(field -> field.path() + " AS " + alias(field))
+                        .collect(Collectors.joining(", ")))
+                .append(" FROM Task t");
+        if (selected.contains(TaskField.PARENT_TASK_ID)) {
+            jpql.append(" LEFT JOIN t.parentTask p");
+        }
+
+        List<String> conditions = new ArrayList<>();
+        conditions.add("t.taskList.deleting = false");
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (query.listId() != null) {
+            conditions.add("t.taskList.id = :listId");
+            parameters.put("listId", query.listId());
+        }
+        if (query.dueFrom() != null) {
+            conditions.add("t.dueDate >= :dueFrom");
+            parameters.put("dueFrom", query.dueFrom());
+        }
+        if (query.dueTo() != null) {
+            conditions.add("t.dueDate <= :dueTo");
+            parameters.put("dueTo", query.dueTo());
+        }
+        if (query.openOnly()) {
+            conditions.add("t.completed = false");
+        }
+        if (query.ids() != null) {
+            if (query.ids().isEmpty()) {
+                return List.of();
+            }
+            conditions.add("t.id IN :ids");
+            parameters.put("ids", query.ids());
+        }
+        if (query.afterCreatedAt() != null) {
+            conditions.add("(t.createdAt < :afterCreatedAt OR (t.createdAt = :afterCreatedAt AND t.id < :afterId))");
+            parameters.put("afterCreatedAt", query.afterCreatedAt());
+            parameters.put("afterId", query.afterId());
+        }
+        jpql.append(" WHERE ").append(String.join(" AND ", conditions));
+        // Within one list the (fixed) list id leads the order, so H2 reads the rows straight from
+        // idx_tasks_list_created instead of sorting them.
+        jpql.append(query.listId() != null
+                ? " ORDER BY t.taskList.id DESC, t.createdAt DESC, t.id DESC"
+                : " ORDER BY t.createdAt DESC, t.id DESC");
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(jpql.toString(), Tuple.class);
+        parameters.forEach(typedQuery::setParameter);
+        if (limit.isLimited()) {
+            typedQuery.setMaxResults(limit.max());
+        }
+        return typedQuery.getResultStream()
+                .map(tuple -> toRow(tuple, selected))
+                .toList();
+    }
+
+    private static TaskRow toRow(Tuple tuple, Set<TaskField> selected) {
+        Integer depth = get(tuple, selected, TaskField.DEPTH, Integer.class);
+        Long version = get(tuple, selected, TaskField.VERSION, Long.class);
+        return new TaskRow(
+                get(tuple, selected, TaskField.ID, Long.class),
+                get(tuple, selected, TaskField.LIST_ID, Long.class),
+                get(tuple, selected, TaskField.PARENT_TASK_ID, Long.class),
+                get(tuple, selected, TaskField.TITLE, String.class),
+                get(tuple, selected, TaskField.DESCRIPTION, String.class),
+                Boolean.TRUE.equals(get(tuple, selected, TaskField.COMPLETED, Boolean.class)),
+                get(tuple, selected, TaskField.DUE_DATE, LocalDate.class),
+                get(tuple, selected, TaskField.PRIORITY, Priority.class),
+                get(tuple, selected, TaskField.NOTES, String.class),
+                get(tuple, selected, TaskField.LOCATION, String.class),
+                get(tuple, selected, TaskField.MEETING_LINK, String.class),
+                depth != null ? depth : 0,
+                get(tuple, selected, TaskField.CREATED_AT, LocalDateTime.class),
+                get(tuple, selected, TaskField.UPDATED_AT, LocalDateTime.class),
+                version != null ? version : 0L);
+    }
+
+    private static <T> T get(Tuple tuple, Set<TaskField> selected, TaskField field, Class<T> type) {
+        return selected.contains(field) ? tuple.get(alias(field), type) : null;
+    }
+
+    private static String alias(TaskField field) {
+        return "f" + field.ordinal();
+    }
+}
@@ -1,36 +1,279 @@
 package com.jocelyn.todoapp.repository;
 
+import com.jocelyn.todoapp.event.TaskSnapshot;
+import com.jocelyn.todoapp.model.Priority;
 import com.jocelyn.todoapp.model.Task;
+import com.jocelyn.todoapp.model.TaskList;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByTaskListIdOrderByCreatedAtDesc(Long listId);
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskProjectionRepository {
+    /**
+     * Also ordered by the (fixed) list id: H2 only reads rows in index order when the ORDER BY
+     * starts at the first column of the index, here idx_tasks_list_created.
+     */
+    Window<Task> findByTaskListIdOrderByTaskListIdDescCreatedAtDescIdDesc(Long listId, ScrollPosition position,
+                                                                          Limit limit);
 
     List<Task> findByTaskListIdAndParentTaskIsNullOrderByCreatedAtDesc(Long listId);
 
     List<Task> findByParentTaskIdOrderByCreatedAtAsc(Long parentTaskId);
 
-    List<Task> findByDueDate(LocalDate dueDate);
+    Window<Task> findByDueDateOrderByCreatedAtDescIdDesc(LocalDate dueDate, ScrollPosition position, Limit limit);
 
-    List<Task> findByDueDateBetween(LocalDate start, LocalDate end);
+    Window<Task> findByDueDateBetweenOrderByCreatedAtDescIdDesc(LocalDate start, LocalDate end,
+                                                                ScrollPosition position, Limit limit);
 
-    List<Task> findByDueDateBeforeAndCompletedFalse(LocalDate date);
+    Window<Task> findByDueDateBeforeAndCompletedFalseOrderByCreatedAtDescIdDesc(LocalDate date,
+                                                                                ScrollPosition position, Limit limit);
 
-    List<Task> findAllByOrderByCreatedAtDesc();
+    /**
+     * Every task outside lists being deleted. Derived rather than an explicit {@code @Query}
+     * because Spring Data does not scroll string-based queries.
+     */
+    Window<Task> findByTaskListDeletingFalseOrderByCreatedAtDescIdDesc(ScrollPosition position, Limit limit);
 
     boolean existsByParentTaskId(Long parentTaskId);
 
     long countByTaskListId(Long listId);
 
+    @Query("""
+            SELECT new com.jocelyn.todoapp.repository.TaskListCountRow(
+                t.taskList.id, COUNT(t), SUM(CASE WHEN t.completed = true THEN 1 ELSE 0 END))
+            FROM Task t
+            WHERE t.taskList.deleting = false
+            GROUP BY t.taskList.id
+            """)
+    List<TaskListCountRow> countTasksByList();
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.repository.TaskListDueCountRow(t.taskList.id, t.dueDate, COUNT(t))
+            FROM Task t
+            WHERE t.completed = false AND t.dueDate IS NOT NULL AND t.taskList.deleting = false
+            GROUP BY t.taskList.id, t.dueDate
+            """)
+    List<TaskListDueCountRow> countOpenTasksByListAndDueDate();
+
+    @Query("SELECT t FROM Task t WHERE t.id = :id AND t.taskList.deleting = false")
+    Optional<Task> findActiveById(@Param("id") Long id);
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.event.TaskSnapshot(
+                t.id, t.taskList.id, p.id, t.dueDate, t.completed, t.priority, t.createdAt, t.updatedAt)
+            FROM Task t LEFT JOIN t.parentTask p
+            WHERE t.taskList.id = :listId
+            """)
+    List<TaskSnapshot> findSnapshotsByListId(@Param("listId") Long listId, Limit limit);
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.event.TaskSnapshot(
+                t.id, t.taskList.id, p.id, t.dueDate, t.completed, t.priority, t.createdAt, t.updatedAt)
+            FROM Task t LEFT JOIN t.parentTask p
+            WHERE t.id = :rootId OR t.path LIKE :descendantPattern
+            """)
+    List<TaskSnapshot> findSubtreeSnapshots(@Param("rootId") Long rootId,
+                                            @Param("descendantPattern") String descendantPattern);
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.event.TaskSnapshot(
+                t.id, t.taskList.id, p.id, t.dueDate, t.completed, t.priority, t.createdAt, t.updatedAt)
+            FROM Task t LEFT JOIN t.parentTask p
+            WHERE t.path LIKE :descendantPattern
+            """)
+    List<TaskSnapshot> findDescendantSnapshots(@Param("descendantPattern") String descendantPattern);
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.event.TaskSnapshot(
+                t.id, t.taskList.id, p.id, t.dueDate, t.completed, t.priority, t.createdAt, t.updatedAt)
+            FROM Task t LEFT JOIN t.parentTask p
+            WHERE t.dueDate IS NOT NULL AND t.taskList.deleting = false
+            """)
+    List<TaskSnapshot> findSnapshotsWithDueDate();
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.repository.TaskRow(
+                t.id, t.taskList.id, p.id, t.title, t.description, t.completed, t.dueDate, t.priority,
+                t.notes, t.location, t.meetingLink, t.depth, t.createdAt, t.updatedAt, t.version)
+            FROM Task t LEFT JOIN t.parentTask p
+            WHERE t.taskList.id = :listId
+            ORDER BY t.taskList.id DESC, t.createdAt DESC, t.id DESC
+            """)
+    List<TaskRow> findTreeRowsByListId(@Param("listId") Long listId);
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.repository.TaskRow(
+                t.id, t.taskList.id, p.id, t.title, t.description, t.completed, t.dueDate, t.priority,
+                t.notes, t.location, t.meetingLink, t.depth, t.createdAt, t.updatedAt, t.version)
+            FROM Task t LEFT JOIN t.parentTask p
+            WHERE t.id = :rootId OR t.path LIKE :descendantPattern
+            ORDER BY t.createdAt DESC, t.id DESC
+            """)
+    List<TaskRow> findSubtreeRows(@Param("rootId") Long rootId, @Param("descendantPattern") String descendantPattern);
+
+    @Query("SELECT MAX(LENGTH(t.path)) FROM Task t WHERE t.path LIKE :descendantPattern")
+    Integer findMaxPathLength(@Param("descendantPattern") String descendantPattern);
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+            UPDATE Task t
+            SET t.path = CONCAT(:newPrefix, SUBSTRING(t.path, :oldPrefixLength + 1)),
+                t.depth = t.depth + :depthDelta,
+                t.taskList = :taskList,
+                t.updatedAt = :updatedAt,
+                t.version = t.version + 1
+            WHERE t.path LIKE :descendantPattern
+            """)
+    int relocateDescendants(@Param("descendantPattern") String descendantPattern,
+                            @Param("oldPrefixLength") int oldPrefixLength,
+                            @Param("newPrefix") String newPrefix,
+                            @Param("depthDelta") int depthDelta,
+                            @Param("taskList") TaskList taskList,
+                            @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE tasks SET parent_task_id = NULL WHERE parent_task_id IN (:ids)", nativeQuery = true)
+    int clearParentReferences(@Param("ids") List<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM tasks WHERE id IN (:ids)", nativeQuery = true)
+    int deleteAllByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("""
+            SELECT t FROM Task t
+            WHERE t.taskList.id = :listId
+              AND t.updatedAt < :horizon
+              AND (t.updatedAt > :since OR (t.updatedAt = :since AND t.id > :afterId))
+            ORDER BY t.updatedAt ASC, t.id ASC
+            """)
+    List<Task> findChangedSince(@Param("listId") Long listId,
+                                @Param("since") LocalDateTime since,
+                                @Param("afterId") Long afterId,
+                                @Param("horizon") LocalDateTime horizon,
+                                Limit limit);
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.repository.TaskSearchRow(
+                t.id, t.taskList.id, t.priority, t.completed, t.title, t.description, t.notes, t.updatedAt)
+            FROM Task t
+            WHERE t.id > :afterId AND t.taskList.deleting = false
+            ORDER BY t.id ASC
+            """)
+    List<TaskSearchRow> findSearchRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.repository.TaskSearchRow(
+                t.id, t.taskList.id, t.priority, t.completed, t.title, t.description, t.notes, t.updatedAt)
+            FROM Task t
+            WHERE t.id IN :ids
+            """)
+    List<TaskSearchRow> findSearchRowsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.repository.TaskNodeRow(
+                t.id, t.taskList.id, p.id, t.dueDate, t.completed, t.priority, t.createdAt, t.updatedAt,
+                t.path, t.depth)
+            FROM Task t LEFT JOIN t.parentTask p
+            WHERE t.id IN :ids AND t.taskList.deleting = false
+            """)
+    List<TaskNodeRow> findNodesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.repository.TaskNodeRow(
+                t.id, t.taskList.id, p.id, t.dueDate, t.completed, t.priority, t.createdAt, t.updatedAt,
+                t.path, t.depth)
+            FROM Task t LEFT JOIN t.parentTask p
+            WHERE t.taskList.deleting = false
+              AND (:listId IS NULL OR t.taskList.id = :listId)
+              AND (:dueFrom IS NULL OR t.dueDate >= :dueFrom)
+              AND (:dueTo IS NULL OR t.dueDate <= :dueTo)
+              AND (:priority IS NULL OR t.priority = :priority)
+              AND (:completed IS NULL OR t.completed = :completed)
+            ORDER BY t.id ASC
+            """)
+    List<TaskNodeRow> findNodesByFilter(@Param("listId") Long listId,
+                                        @Param("dueFrom") LocalDate dueFrom,
+                                        @Param("dueTo") LocalDate dueTo,
+                                        @Param("priority") Priority priority,
+                                        @Param("completed") Boolean completed,
+                                        Limit limit);
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.repository.TaskNodeRow(
+                t.id, t.taskList.id, p.id, t.dueDate, t.completed, t.priority, t.createdAt, t.updatedAt,
+                t.path, t.depth)
+            FROM Task t LEFT JOIN t.parentTask p
+            WHERE EXISTS (
+                SELECT 1 FROM Task r
+                WHERE r.id IN :rootIds
+                  AND r.taskList = t.taskList
+                  AND t.path LIKE CONCAT(r.path, CAST(r.id AS String), '/%'))
+            """)
+    List<TaskNodeRow> findDescendantNodes(@Param("rootIds") Collection<Long> rootIds, Limit limit);
+
+    @Query("""
+            SELECT new com.jocelyn.todoapp.repository.TaskNodeRow(
+                t.id, t.taskList.id, p.id, t.dueDate, t.completed, t.priority, t.createdAt, t.updatedAt,
+                t.path, t.depth)
+            FROM Task t LEFT JOIN t.parentTask p
+            WHERE t.id > :afterId
+              AND t.completed = true
+              AND t.updatedAt < :cutoff
+              AND t.taskList.deleting = false
+              AND (p IS NULL OR p.completed = false OR p.updatedAt >= :cutoff)
+            ORDER BY t.id ASC
+            """)
+    List<TaskNodeRow> findArchiveCandidates(@Param("afterId") Long afterId,
+                                            @Param("cutoff") LocalDateTime cutoff,
+                                            Limit limit);
+
+    @Modifying
+    @Query("""
+            UPDATE Task t
+            SET t.completed = :completed, t.updatedAt = :updatedAt, t.version = t.version + 1
+            WHERE t.id IN :ids
+            """)
+    int updateCompleted(@Param("ids") Collection<Long> ids,
+                        @Param("completed") boolean completed,
+                        @Param("updatedAt") LocalDateTime updatedAt);
+
     @Modifying
-    @Query(value = "UPDATE tasks SET parent_task_id = NULL WHERE list_id = :listId", nativeQuery = true)
-    void clearParentReferencesByListId(@Param("listId") Long listId);
+    @Query("""
+            UPDATE Task t
+            SET t.priority = :priority, t.updatedAt = :updatedAt, t.version = t.version + 1
+            WHERE t.id IN :ids
+            """)
+    int updatePriority(@Param("ids") Collection<Long> ids,
+                       @Param("priority") Priority priority,
+                       @Param("updatedAt") LocalDateTime updatedAt);
 
-    void deleteByTaskListId(Long listId);
+    @Modifying
+    @Query("UPDATE Task t SET t.parentTask = NULL, t.version = t.version + 1 WHERE t.id IN :ids")
+    int detachFromParents(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+            UPDATE Task t
+            SET t.path = SUBSTRING(t.path, :prefixLength),
+                t.depth = t.depth - :depthDelta,
+                t.taskList = :taskList,
+                t.updatedAt = :updatedAt,
+                t.version = t.version + 1
+            WHERE t.id IN :ids
+            """)
+    int moveSubtreesToList(@Param("ids") Collection<Long> ids,
+                           @Param("prefixLength") int prefixLength,
+                           @Param("depthDelta") int depthDelta,
+                           @Param("taskList") TaskList taskList,
+                           @Param("updatedAt") LocalDateTime updatedAt);
 }
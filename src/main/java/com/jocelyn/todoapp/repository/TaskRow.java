@@ -0,0 +1,25 @@
+package com.jocelyn.todoapp.repository;
+
+import com.jocelyn.todoapp.model.Priority;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record TaskRow(
+        Long id,
+        Long listId,
+        Long parentTaskId,
+        String title,
+        String description,
+        boolean completed,
+        LocalDate dueDate,
+        Priority priority,
+        String notes,
+        String location,
+        String meetingLink,
+        int depth,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        long version
+) {
+}
@@ -0,0 +1,33 @@
+package com.jocelyn.todoapp.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Filter and keyset position for {@link TaskProjectionRepository#findRows}. Null components do
+ * not restrict the result.
+ */
+public record TaskRowQuery(Long listId, LocalDate dueFrom, LocalDate dueTo, boolean openOnly,
+                           Collection<Long> ids, LocalDateTime afterCreatedAt, Long afterId) {
+
+    public static TaskRowQuery all() {
+        return new TaskRowQuery(null, null, null, false, null, null, null);
+    }
+
+    public static TaskRowQuery forList(Long listId) {
+        return new TaskRowQuery(listId, null, null, false, null, null, null);
+    }
+
+    public static TaskRowQuery due(LocalDate from, LocalDate to, boolean openOnly) {
+        return new TaskRowQuery(null, from, to, openOnly, null, null, null);
+    }
+
+    public static TaskRowQuery byIds(Collection<Long> ids) {
+        return new TaskRowQuery(null, null, null, false, ids, null, null);
+    }
+
+    public TaskRowQuery after(LocalDateTime createdAt, Long id) {
+        return new TaskRowQuery(listId, dueFrom, dueTo, openOnly, ids, createdAt, id);
+    }
+}
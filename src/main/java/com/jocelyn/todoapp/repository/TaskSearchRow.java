@@ -0,0 +1,9 @@
+package com.jocelyn.todoapp.repository;
+
+import com.jocelyn.todoapp.model.Priority;
+
+import java.time.LocalDateTime;
+
+public record TaskSearchRow(Long id, Long listId, Priority priority, boolean completed,
+                            String title, String description, String notes, LocalDateTime updatedAt) {
+}
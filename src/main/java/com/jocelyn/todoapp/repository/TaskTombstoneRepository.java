@@ -0,0 +1,48 @@
+package com.jocelyn.todoapp.repository;
+
+import com.jocelyn.todoapp.model.TaskTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, Long> {
+
+    @Query("""
+            SELECT t FROM TaskTombstone t
+            WHERE t.listId = :listId
+              AND t.deletedAt < :horizon
+              AND (t.deletedAt > :since OR (t.deletedAt = :since AND t.id > :afterId))
+            ORDER BY t.deletedAt ASC, t.id ASC
+            """)
+    List<TaskTombstone> findChangedSince(@Param("listId") Long listId,
+                                         @Param("since") LocalDateTime since,
+                                         @Param("afterId") Long afterId,
+                                         @Param("horizon") LocalDateTime horizon,
+                                         Limit limit);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_tombstones (task_id, list_id, deleted_at)
+            SELECT id, list_id, :deletedAt FROM tasks WHERE id IN (:ids)
+            """, nativeQuery = true)
+    int insertForTasks(@Param("ids") Collection<Long> ids, @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO task_tombstones (task_id, list_id, deleted_at)
+            SELECT id, list_id, :deletedAt FROM tasks WHERE id = :rootId OR path LIKE :descendantPattern
+            """, nativeQuery = true)
+    int insertForSubtree(@Param("rootId") Long rootId,
+                         @Param("descendantPattern") String descendantPattern,
+                         @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Modifying
+    @Query("DELETE FROM TaskTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
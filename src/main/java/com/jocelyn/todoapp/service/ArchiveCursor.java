@@ -0,0 +1,31 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the archive search, which pages through archived tasks by descending id.
+ */
+record ArchiveCursor(Long beforeId) {
+
+    static final ArchiveCursor START = new ArchiveCursor(Long.MAX_VALUE);
+
+    static ArchiveCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return new ArchiveCursor(Long.parseLong(raw));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(beforeId).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,16 @@
+package com.jocelyn.todoapp.service;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(String scope, String version, String variant) {
+        String variantHash = DigestUtils.md5DigestAsHex(variant.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        return scope + "-" + version + "-" + variantHash;
+    }
+}
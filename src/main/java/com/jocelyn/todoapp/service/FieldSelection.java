@@ -0,0 +1,79 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.dto.TaskResponse;
+import com.jocelyn.todoapp.exception.BadRequestException;
+import com.jocelyn.todoapp.repository.TaskField;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The task fields named in a {@code fields=} parameter. The id is always included.
+ */
+record FieldSelection(Set<TaskField> fields) {
+
+    static final String CHILDREN = "children";
+
+    /**
+     * Returns null when {@code fields} is absent, meaning the full representation.
+     */
+    static FieldSelection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<TaskField> selected = EnumSet.of(TaskField.ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty() || trimmed.equals(CHILDREN)) {
+                continue;
+            }
+            selected.add(TaskField.fromJsonName(trimmed)
+                    .orElseThrow(() -> new BadRequestException("Unknown task field: " + trimmed)));
+        }
+        return new FieldSelection(Collections.unmodifiableSet(selected));
+    }
+
+    Set<TaskField> with(TaskField... extra) {
+        Set<TaskField> columns = EnumSet.copyOf(fields);
+        Collections.addAll(columns, extra);
+        return columns;
+    }
+
+    Map<String, Object> project(TaskResponse task, boolean withChildren) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (TaskField field : fields) {
+            values.put(field.jsonName(), valueOf(task, field));
+        }
+        if (withChildren) {
+            List<Map<String, Object>> children = task.getChildren().stream()
+                    .map(child -> project(child, true))
+                    .toList();
+            values.put(CHILDREN, children);
+        }
+        return values;
+    }
+
+    private static Object valueOf(TaskResponse task, TaskField field) {
+        return switch (field) {
+            case ID -> task.getId();
+            case TITLE -> task.getTitle();
+            case DESCRIPTION -> task.getDescription();
+            case COMPLETED -> task.isCompleted();
+            case DUE_DATE -> task.getDueDate();
+            case PRIORITY -> task.getPriority();
+            case NOTES -> task.getNotes();
+            case LOCATION -> task.getLocation();
+            case MEETING_LINK -> task.getMeetingLink();
+            case LIST_ID -> task.getListId();
+            case PARENT_TASK_ID -> task.getParentTaskId();
+            case DEPTH -> task.getDepth();
+            case CREATED_AT -> task.getCreatedAt();
+            case UPDATED_AT -> task.getUpdatedAt();
+            case VERSION -> task.getVersion();
+        };
+    }
+}
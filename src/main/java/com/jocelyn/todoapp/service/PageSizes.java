@@ -0,0 +1,20 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.config.PaginationProperties;
+import com.jocelyn.todoapp.exception.BadRequestException;
+
+final class PageSizes {
+
+    private PageSizes() {
+    }
+
+    static int resolve(Integer size, PaginationProperties properties) {
+        if (size == null) {
+            return properties.getDefaultSize();
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(size, properties.getMaxSize());
+    }
+}
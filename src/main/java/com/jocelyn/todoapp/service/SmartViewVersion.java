@@ -0,0 +1,39 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.event.ChangeType;
+import com.jocelyn.todoapp.event.TaskListChangedEvent;
+import com.jocelyn.todoapp.event.TasksChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Node-local version of the cross-list smart views. The nonce keeps tags from different
+ * nodes or restarts from ever matching each other.
+ */
+@Component
+public class SmartViewVersion {
+
+    private final String nonce = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicLong counter = new AtomicLong();
+
+    public String current() {
+        return nonce + "." + counter.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTasksChanged(TasksChangedEvent event) {
+        if (!event.changes().isEmpty()) {
+            counter.incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskListChanged(TaskListChangedEvent event) {
+        if (event.type() == ChangeType.DELETED) {
+            counter.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+record SyncToken(LocalDateTime at, Kind kind, Long id) {
+
+    enum Kind { TASK, TOMBSTONE }
+
+    static final SyncToken START = new SyncToken(LocalDateTime.of(1970, 1, 1, 0, 0), Kind.TASK, 0L);
+
+    private static final String SEPARATOR = "|";
+
+    static SyncToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Unexpected token layout");
+            }
+            return new SyncToken(LocalDateTime.parse(parts[0]), Kind.valueOf(parts[1]), Long.parseLong(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid sync token");
+        }
+    }
+
+    boolean isStart() {
+        return this.equals(START);
+    }
+
+    Long afterTaskId() {
+        return kind == Kind.TASK ? id : Long.MAX_VALUE;
+    }
+
+    Long afterTombstoneId() {
+        return kind == Kind.TOMBSTONE ? id : 0L;
+    }
+
+    String encode() {
+        String raw = at + SEPARATOR + kind + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
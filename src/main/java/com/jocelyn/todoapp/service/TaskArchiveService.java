@@ -0,0 +1,231 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.config.ArchiveProperties;
+import com.jocelyn.todoapp.config.BulkProperties;
+import com.jocelyn.todoapp.config.PaginationProperties;
+import com.jocelyn.todoapp.dto.ArchivedTaskResponse;
+import com.jocelyn.todoapp.dto.PageResponse;
+import com.jocelyn.todoapp.dto.TaskResponse;
+import com.jocelyn.todoapp.event.TaskChange;
+import com.jocelyn.todoapp.event.TaskSnapshot;
+import com.jocelyn.todoapp.event.TasksChangedEvent;
+import com.jocelyn.todoapp.exception.BadRequestException;
+import com.jocelyn.todoapp.exception.ResourceNotFoundException;
+import com.jocelyn.todoapp.model.ArchivedTask;
+import com.jocelyn.todoapp.model.Task;
+import com.jocelyn.todoapp.repository.ArchivedTaskRepository;
+import com.jocelyn.todoapp.repository.TaskNodeRow;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import com.jocelyn.todoapp.repository.TaskTombstoneRepository;
+import com.jocelyn.todoapp.writebehind.TaskWriteBuffer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Moves completed subtrees whose root has not changed for {@code todoapp.archive.completed-age}
+ * from {@code tasks} into {@code archived_tasks}, and moves them back on request. A subtree is
+ * archived only when every task in it is completed; each batch of roots is copied, tombstoned and
+ * deleted in one short transaction, so a task is always in exactly one of the two tables.
+ */
+@Slf4j
+@Service
+public class TaskArchiveService {
+
+    private final TaskRepository taskRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskListService taskListService;
+    private final TaskWriteBuffer taskWriteBuffer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ArchiveProperties archiveProperties;
+    private final BulkProperties bulkProperties;
+    private final PaginationProperties paginationProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskArchiveService(TaskRepository taskRepository,
+                              ArchivedTaskRepository archivedTaskRepository,
+                              TaskTombstoneRepository taskTombstoneRepository,
+                              TaskListService taskListService,
+                              TaskWriteBuffer taskWriteBuffer,
+                              ApplicationEventPublisher eventPublisher,
+                              ArchiveProperties archiveProperties,
+                              BulkProperties bulkProperties,
+                              PaginationProperties paginationProperties,
+                              PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskListService = taskListService;
+        this.taskWriteBuffer = taskWriteBuffer;
+        this.eventPublisher = eventPublisher;
+        this.archiveProperties = archiveProperties;
+        this.bulkProperties = bulkProperties;
+        this.paginationProperties = paginationProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${todoapp.archive.interval:PT1H}")
+    public void archiveScheduled() {
+        if (archiveProperties.isEnabled()) {
+            archiveCompleted();
+        }
+    }
+
+    /**
+     * Archives every eligible subtree and returns the number of tasks moved.
+     */
+    public int archiveCompleted() {
+        taskWriteBuffer.flushAll();
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveProperties.getCompletedAge());
+        int rootsPerTransaction = archiveProperties.getRootsPerTransaction();
+        int archived = 0;
+        long afterId = 0;
+        List<TaskNodeRow> candidates;
+        do {
+            candidates = taskRepository.findArchiveCandidates(afterId, cutoff, Limit.of(rootsPerTransaction));
+            if (candidates.isEmpty()) {
+                break;
+            }
+            List<TaskNodeRow> batch = candidates;
+            Integer moved = transactionTemplate.execute(status -> archiveRoots(batch));
+            archived += moved != null ? moved : 0;
+            afterId = candidates.get(candidates.size() - 1).id();
+        } while (candidates.size() == rootsPerTransaction && !Thread.currentThread().isInterrupted());
+
+        if (archived > 0) {
+            log.info("Archived {} completed tasks", archived);
+        }
+        return archived;
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<ArchivedTaskResponse> search(Long listId, String query, String cursor, Integer size) {
+        int pageSize = PageSizes.resolve(size, paginationProperties);
+        String pattern = query == null || query.isBlank()
+                ? null
+                : "%" + query.trim().toUpperCase(Locale.ROOT) + "%";
+        List<ArchivedTask> rows = archivedTaskRepository.search(listId, pattern,
+                ArchiveCursor.decode(cursor).beforeId(), Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<ArchivedTaskResponse> items = rows.stream()
+                .limit(pageSize)
+                .map(TaskArchiveService::toResponse)
+                .toList();
+        return PageResponse.<ArchivedTaskResponse>builder()
+                .items(items)
+                .size(pageSize)
+                .next(hasMore ? new ArchiveCursor(items.get(items.size() - 1).getId()).encode() : null)
+                .build();
+    }
+
+    /**
+     * Restores the subtree archived under {@code rootId}. The root goes back under its original
+     * parent when that task still exists in the same list, and to the top level otherwise.
+     */
+    @Transactional
+    public TaskResponse restore(Long rootId) {
+        ArchivedTask root = archivedTaskRepository.findById(rootId)
+                .orElseThrow(() -> new ResourceNotFoundException("Archived task not found with id: " + rootId));
+        if (!root.isRoot()) {
+            throw new BadRequestException("Task " + rootId + " was archived with task " + root.getRootId()
+                    + "; restore that task instead");
+        }
+        taskListService.findById(root.getListId());
+
+        Task parent = root.getParentTaskId() == null ? null : taskRepository.findById(root.getParentTaskId())
+                .filter(candidate -> candidate.getTaskList().getId().equals(root.getListId()))
+                .orElse(null);
+        String newRootPath = parent != null ? parent.subtreePath() : Task.ROOT_PATH;
+        int newDepth = parent != null ? parent.getDepth() + 1 : 0;
+        Integer deepestPath = archivedTaskRepository.findMaxPathLength(rootId);
+        if (deepestPath != null && deepestPath - root.getPath().length() + newRootPath.length() > Task.MAX_PATH_LENGTH) {
+            throw new BadRequestException("Maximum task nesting depth exceeded");
+        }
+
+        archivedTaskRepository.restore(rootId, parent != null ? parent.getId() : null, newRootPath,
+                root.getPath().length(), newDepth - root.getDepth(), LocalDateTime.now());
+        archivedTaskRepository.deleteByRootId(rootId);
+
+        Task restored = taskRepository.findById(rootId)
+                .orElseThrow(() -> new IllegalStateException("Restored task " + rootId + " is missing"));
+        List<TaskSnapshot> subtree = taskRepository.findSubtreeSnapshots(rootId, restored.subtreePath() + "%");
+        taskListService.incrementDataVersion(List.of(root.getListId()));
+        eventPublisher.publishEvent(new TasksChangedEvent(subtree.stream().map(TaskChange::created).toList()));
+        return TaskService.toResponse(restored);
+    }
+
+    private int archiveRoots(List<TaskNodeRow> candidates) {
+        Set<Long> archivedRootIds = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskChange> changes = new ArrayList<>();
+        Set<Long> listIds = new HashSet<>();
+
+        for (TaskNodeRow root : candidates) {
+            // Only an ancestor that was actually archived above has taken this task with it.
+            if (root.hasAncestorIn(archivedRootIds)) {
+                continue;
+            }
+            List<TaskSnapshot> subtree = taskRepository.findSubtreeSnapshots(root.id(),
+                    root.path() + root.id() + "/%");
+            if (subtree.stream().anyMatch(task -> !task.completed())) {
+                continue;
+            }
+            List<Long> ids = subtree.stream().map(TaskSnapshot::id).toList();
+            forEachChunk(ids, chunk -> archivedTaskRepository.archive(root.id(), chunk, now));
+            forEachChunk(ids, chunk -> taskTombstoneRepository.insertForTasks(chunk, now));
+            forEachChunk(ids, taskRepository::clearParentReferences);
+            forEachChunk(ids, taskRepository::deleteAllByIdIn);
+            subtree.forEach(task -> changes.add(TaskChange.deleted(task)));
+            archivedRootIds.add(root.id());
+            listIds.add(root.listId());
+        }
+
+        if (!changes.isEmpty()) {
+            taskListService.incrementDataVersion(listIds);
+            eventPublisher.publishEvent(new TasksChangedEvent(changes));
+        }
+        return changes.size();
+    }
+
+    private void forEachChunk(List<Long> ids, Consumer<List<Long>> action) {
+        int chunkSize = bulkProperties.getStatementChunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            action.accept(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+    }
+
+    static ArchivedTaskResponse toResponse(ArchivedTask task) {
+        return ArchivedTaskResponse.builder()
+                .id(task.getId())
+                .rootId(task.getRootId())
+                .listId(task.getListId())
+                .parentTaskId(task.getParentTaskId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .completed(task.isCompleted())
+                .dueDate(task.getDueDate())
+                .priority(task.getPriority())
+                .notes(task.getNotes())
+                .location(task.getLocation())
+                .meetingLink(task.getMeetingLink())
+                .depth(task.getDepth())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .archivedAt(task.getArchivedAt())
+                .build();
+    }
+}
@@ -0,0 +1,300 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.config.BulkProperties;
+import com.jocelyn.todoapp.dto.BulkOperationType;
+import com.jocelyn.todoapp.dto.TaskBulkFilter;
+import com.jocelyn.todoapp.dto.TaskBulkOperation;
+import com.jocelyn.todoapp.dto.TaskBulkRequest;
+import com.jocelyn.todoapp.dto.TaskBulkResponse;
+import com.jocelyn.todoapp.dto.TaskBulkResult;
+import com.jocelyn.todoapp.event.TaskChange;
+import com.jocelyn.todoapp.event.TasksChangedEvent;
+import com.jocelyn.todoapp.exception.BadRequestException;
+import com.jocelyn.todoapp.model.Priority;
+import com.jocelyn.todoapp.model.TaskList;
+import com.jocelyn.todoapp.repository.TaskNodeRow;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import com.jocelyn.todoapp.repository.TaskTombstoneRepository;
+import com.jocelyn.todoapp.writebehind.TaskWriteBuffer;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Applies complete, uncomplete, move, set-priority and delete to many tasks at once with
+ * set-based statements. Moves and deletes always act on whole subtrees: a selected task whose
+ * ancestor is also selected is carried along with that ancestor.
+ */
+@Service
+@Timed(value = "todoapp.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class TaskBulkService {
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskListService taskListService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkProperties bulkProperties;
+    private final TaskWriteBuffer taskWriteBuffer;
+    private final TransactionTemplate transactionTemplate;
+
+    public TaskBulkService(TaskRepository taskRepository,
+                           TaskTombstoneRepository taskTombstoneRepository,
+                           TaskListService taskListService,
+                           ApplicationEventPublisher eventPublisher,
+                           BulkProperties bulkProperties,
+                           TaskWriteBuffer taskWriteBuffer,
+                           PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskListService = taskListService;
+        this.eventPublisher = eventPublisher;
+        this.bulkProperties = bulkProperties;
+        this.taskWriteBuffer = taskWriteBuffer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public TaskBulkResponse apply(TaskBulkRequest request) {
+        taskWriteBuffer.flushAll();
+        return transactionTemplate.execute(status -> applyAll(request));
+    }
+
+    private TaskBulkResponse applyAll(TaskBulkRequest request) {
+        List<TaskBulkResult> results = new ArrayList<>(request.getOperations().size());
+        for (TaskBulkOperation operation : request.getOperations()) {
+            results.add(apply(operation));
+        }
+        return TaskBulkResponse.builder()
+                .results(results)
+                .build();
+    }
+
+    private TaskBulkResult apply(TaskBulkOperation operation) {
+        if (operation.getType() == BulkOperationType.MOVE && operation.getTargetListId() == null) {
+            throw new BadRequestException("Target list id is required for MOVE");
+        }
+        if (operation.getType() == BulkOperationType.SET_PRIORITY && operation.getPriority() == null) {
+            throw new BadRequestException("Priority is required for SET_PRIORITY");
+        }
+
+        List<TaskNodeRow> selected = select(operation);
+        return switch (operation.getType()) {
+            case COMPLETE -> setCompleted(selected, true, BulkOperationType.COMPLETE);
+            case UNCOMPLETE -> setCompleted(selected, false, BulkOperationType.UNCOMPLETE);
+            case SET_PRIORITY -> setPriority(selected, operation.getPriority());
+            case MOVE -> move(selected, operation.getTargetListId());
+            case DELETE -> delete(selected);
+        };
+    }
+
+    private List<TaskNodeRow> select(TaskBulkOperation operation) {
+        boolean hasIds = operation.getIds() != null && !operation.getIds().isEmpty();
+        TaskBulkFilter filter = operation.getFilter();
+        boolean hasFilter = filter != null && !filter.isEmpty();
+        if (hasIds == hasFilter) {
+            throw new BadRequestException("Provide either task ids or a non-empty filter");
+        }
+
+        int maxTasks = bulkProperties.getMaxTasks();
+        if (hasIds) {
+            List<Long> ids = List.copyOf(new LinkedHashSet<>(operation.getIds()));
+            if (ids.size() > maxTasks) {
+                throw tooManyTasks();
+            }
+            List<TaskNodeRow> rows = new ArrayList<>(ids.size());
+            forEachChunk(ids, chunk -> rows.addAll(taskRepository.findNodesByIdIn(chunk)));
+            return rows;
+        }
+
+        List<TaskNodeRow> rows = taskRepository.findNodesByFilter(filter.getListId(), filter.getDueFrom(),
+                filter.getDueTo(), filter.getPriority(), filter.getCompleted(), Limit.of(maxTasks + 1));
+        if (rows.size() > maxTasks) {
+            throw tooManyTasks();
+        }
+        return rows;
+    }
+
+    private TaskBulkResult setCompleted(List<TaskNodeRow> selected, boolean completed, BulkOperationType type) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskNodeRow> changed = selected.stream()
+                .filter(row -> row.completed() != completed)
+                .toList();
+        forEachChunk(idsOf(changed), chunk -> taskRepository.updateCompleted(chunk, completed, now));
+        publish(changed.stream()
+                .map(row -> TaskChange.updated(row.snapshot(), row.snapshot().withCompleted(completed, now)))
+                .toList());
+        touchLists(changed, null);
+        return result(type, selected.size(), changed.size());
+    }
+
+    private TaskBulkResult setPriority(List<TaskNodeRow> selected, Priority priority) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskNodeRow> changed = selected.stream()
+                .filter(row -> row.priority() != priority)
+                .toList();
+        forEachChunk(idsOf(changed), chunk -> taskRepository.updatePriority(chunk, priority, now));
+        publish(changed.stream()
+                .map(row -> TaskChange.updated(row.snapshot(), row.snapshot().withPriority(priority, now)))
+                .toList());
+        touchLists(changed, null);
+        return result(BulkOperationType.SET_PRIORITY, selected.size(), changed.size());
+    }
+
+    private TaskBulkResult move(List<TaskNodeRow> selected, Long targetListId) {
+        TaskList target = taskListService.findById(targetListId);
+        Set<Long> selectedIds = new HashSet<>(idsOf(selected));
+        List<TaskNodeRow> roots = selected.stream()
+                .filter(row -> !row.listId().equals(target.getId()))
+                .filter(row -> !row.hasAncestorIn(selectedIds))
+                .toList();
+        if (roots.isEmpty()) {
+            return result(BulkOperationType.MOVE, selected.size(), 0);
+        }
+
+        Map<Long, TaskNodeRow> rootsById = new LinkedHashMap<>();
+        roots.forEach(root -> rootsById.put(root.id(), root));
+        List<TaskNodeRow> moved = withDescendants(roots);
+
+        Map<String, List<Long>> idsByRootPath = new LinkedHashMap<>();
+        Map<String, Integer> depthByRootPath = new LinkedHashMap<>();
+        for (TaskNodeRow row : moved) {
+            TaskNodeRow root = rootsById.containsKey(row.id()) ? rootsById.get(row.id()) : rootOf(row, rootsById);
+            idsByRootPath.computeIfAbsent(root.path(), path -> new ArrayList<>()).add(row.id());
+            depthByRootPath.put(root.path(), root.depth());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> movedIds = idsOf(moved);
+        forEachChunk(movedIds, chunk -> taskTombstoneRepository.insertForTasks(chunk, now));
+        List<Long> attachedRootIds = roots.stream()
+                .filter(root -> root.parentTaskId() != null)
+                .map(TaskNodeRow::id)
+                .toList();
+        forEachChunk(attachedRootIds, taskRepository::detachFromParents);
+        idsByRootPath.forEach((rootPath, ids) -> forEachChunk(ids, chunk -> taskRepository.moveSubtreesToList(
+                chunk, rootPath.length(), depthByRootPath.get(rootPath), target, now)));
+
+        publish(moved.stream()
+                .map(row -> TaskChange.updated(row.snapshot(), row.snapshot().movedTo(target.getId(),
+                        rootsById.containsKey(row.id()) ? null : row.parentTaskId(), now)))
+                .toList());
+        touchLists(moved, target.getId());
+
+        Set<Long> movedIdSet = new HashSet<>(movedIds);
+        long movedSelected = selected.stream().filter(row -> movedIdSet.contains(row.id())).count();
+        return TaskBulkResult.builder()
+                .type(BulkOperationType.MOVE)
+                .matched(selected.size())
+                .affected(moved.size())
+                .unchanged(selected.size() - (int) movedSelected)
+                .build();
+    }
+
+    private TaskBulkResult delete(List<TaskNodeRow> selected) {
+        Set<Long> selectedIds = new HashSet<>(idsOf(selected));
+        List<TaskNodeRow> roots = selected.stream()
+                .filter(row -> !row.hasAncestorIn(selectedIds))
+                .toList();
+        List<TaskNodeRow> deleted = withDescendants(roots);
+        List<Long> ids = idsOf(deleted);
+
+        LocalDateTime now = LocalDateTime.now();
+        forEachChunk(ids, chunk -> taskTombstoneRepository.insertForTasks(chunk, now));
+        forEachChunk(ids, taskRepository::clearParentReferences);
+        forEachChunk(ids, taskRepository::deleteAllByIdIn);
+
+        publish(deleted.stream()
+                .map(row -> TaskChange.deleted(row.snapshot()))
+                .toList());
+        touchLists(deleted, null);
+        return TaskBulkResult.builder()
+                .type(BulkOperationType.DELETE)
+                .matched(selected.size())
+                .affected(deleted.size())
+                .unchanged(0)
+                .build();
+    }
+
+    private List<TaskNodeRow> withDescendants(List<TaskNodeRow> roots) {
+        Map<Long, TaskNodeRow> rows = new LinkedHashMap<>();
+        roots.forEach(root -> rows.put(root.id(), root));
+        int maxTasks = bulkProperties.getMaxTasks();
+        forEachChunk(idsOf(roots), chunk -> {
+            List<TaskNodeRow> descendants = taskRepository.findDescendantNodes(chunk, Limit.of(maxTasks + 1));
+            descendants.forEach(row -> rows.putIfAbsent(row.id(), row));
+            if (descendants.size() > maxTasks || rows.size() > maxTasks) {
+                throw tooManyTasks();
+            }
+        });
+        return List.copyOf(rows.values());
+    }
+
+    /**
+     * The cap counts every task an operation touches, so a MOVE or DELETE of a few roots cannot
+     * pull in an unbounded number of descendants.
+     */
+    private BadRequestException tooManyTasks() {
+        return new BadRequestException("Bulk operations are limited to " + bulkProperties.getMaxTasks() + " tasks");
+    }
+
+    private static TaskNodeRow rootOf(TaskNodeRow row, Map<Long, TaskNodeRow> rootsById) {
+        for (String segment : row.path().split("/")) {
+            if (!segment.isEmpty()) {
+                TaskNodeRow root = rootsById.get(Long.valueOf(segment));
+                if (root != null) {
+                    return root;
+                }
+            }
+        }
+        throw new IllegalStateException("Task " + row.id() + " is not below any moved root");
+    }
+
+    private void touchLists(List<TaskNodeRow> rows, Long extraListId) {
+        Set<Long> listIds = new HashSet<>();
+        rows.forEach(row -> listIds.add(row.listId()));
+        if (extraListId != null && !rows.isEmpty()) {
+            listIds.add(extraListId);
+        }
+        if (!listIds.isEmpty()) {
+            taskListService.incrementDataVersion(listIds);
+        }
+    }
+
+    private void publish(List<TaskChange> changes) {
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new TasksChangedEvent(changes));
+        }
+    }
+
+    private void forEachChunk(List<Long> ids, Consumer<List<Long>> action) {
+        int chunkSize = bulkProperties.getStatementChunkSize();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            action.accept(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+    }
+
+    private static List<Long> idsOf(List<TaskNodeRow> rows) {
+        return rows.stream().map(TaskNodeRow::id).toList();
+    }
+
+    private static TaskBulkResult result(BulkOperationType type, int matched, int affected) {
+        return TaskBulkResult.builder()
+                .type(type)
+                .matched(matched)
+                .affected(affected)
+                .unchanged(matched - affected)
+                .build();
+    }
+}
@@ -0,0 +1,64 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.exception.BadRequestException;
+import com.jocelyn.todoapp.model.Task;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+record TaskCursor(LocalDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    static TaskCursor of(Task task) {
+        return new TaskCursor(task.getCreatedAt(), task.getId());
+    }
+
+    static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new TaskCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+
+    static ScrollPosition toScrollPosition(String token) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        return ScrollPosition.forward(decode(token).keys(new LinkedHashMap<>()));
+    }
+
+    /**
+     * The position within one list, for a query that also orders by the list id.
+     */
+    static ScrollPosition toScrollPosition(String token, Long listId) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("taskList.id", listId);
+        return ScrollPosition.forward(decode(token).keys(keys));
+    }
+
+    private Map<String, Object> keys(Map<String, Object> keys) {
+        keys.put("createdAt", createdAt);
+        keys.put("id", id);
+        return keys;
+    }
+
+    String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,194 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.config.CacheProperties;
+import com.jocelyn.todoapp.dto.CacheStatsResponse;
+import com.jocelyn.todoapp.model.TaskList;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class TaskListCache {
+
+    public static final String NAME = "task-lists";
+
+    private final int maxSize;
+    private final Map<Long, TaskList> byId;
+    private final Map<String, Long> idsByName = new HashMap<>();
+    private boolean complete;
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public TaskListCache(CacheProperties cacheProperties) {
+        this.maxSize = cacheProperties.getTaskListsMaxSize();
+        this.byId = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TaskList> eldest) {
+                if (size() <= maxSize) {
+                    return false;
+                }
+                idsByName.remove(nameKey(eldest.getValue().getName()));
+                complete = false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    public synchronized Optional<TaskList> get(Long id) {
+        TaskList cached = byId.get(id);
+        recordLookup(cached != null);
+        return Optional.ofNullable(cached).map(TaskListCache::copyOf);
+    }
+
+    public synchronized Optional<Long> findIdByName(String name) {
+        Long id = idsByName.get(nameKey(name));
+        recordLookup(id != null || complete);
+        if (id != null) {
+            byId.get(id);
+        }
+        return Optional.ofNullable(id);
+    }
+
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    public synchronized Optional<List<TaskList>> getAll() {
+        recordLookup(complete);
+        if (!complete) {
+            return Optional.empty();
+        }
+        return Optional.of(byId.values().stream()
+                .sorted(Comparator.comparing(TaskList::getId))
+                .map(TaskListCache::copyOf)
+                .toList());
+    }
+
+    /**
+     * Changes whenever an entry is evicted or replaced. Loaders read it before going to the
+     * database and pass it to {@link #putLoaded} or {@link #putAll}, so a copy read before a
+     * concurrent rename or delete committed is not cached afterwards.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void putAll(Collection<TaskList> taskLists, long loadedAt) {
+        if (generation != loadedAt) {
+            return;
+        }
+        byId.clear();
+        idsByName.clear();
+        taskLists.forEach(this::store);
+        complete = taskLists.size() <= maxSize;
+    }
+
+    public void put(TaskList taskList) {
+        TaskList snapshot = copyOf(taskList);
+        runAfterCommit(() -> {
+            synchronized (this) {
+                generation++;
+                store(snapshot);
+            }
+        });
+    }
+
+    public void putLoaded(TaskList taskList, long loadedAt) {
+        TaskList snapshot = copyOf(taskList);
+        runAfterCommit(() -> {
+            synchronized (this) {
+                if (generation == loadedAt) {
+                    store(snapshot);
+                }
+            }
+        });
+    }
+
+    public void evict(Long id) {
+        remove(id);
+        runAfterCommit(() -> remove(id));
+    }
+
+    public synchronized void clear() {
+        generation++;
+        byId.clear();
+        idsByName.clear();
+        complete = false;
+    }
+
+    public synchronized CacheStatsResponse stats() {
+        long lookups = hits + misses;
+        return CacheStatsResponse.builder()
+                .name(NAME)
+                .size(byId.size())
+                .maxSize(maxSize)
+                .hits(hits)
+                .misses(misses)
+                .evictions(evictions)
+                .hitRate(lookups == 0 ? 0.0 : (double) hits / lookups)
+                .build();
+    }
+
+    private synchronized void remove(Long id) {
+        generation++;
+        TaskList removed = byId.remove(id);
+        if (removed != null) {
+            idsByName.remove(nameKey(removed.getName()));
+        }
+    }
+
+    private void store(TaskList taskList) {
+        TaskList previous = byId.put(taskList.getId(), copyOf(taskList));
+        if (previous != null) {
+            idsByName.remove(nameKey(previous.getName()));
+        }
+        idsByName.put(nameKey(taskList.getName()), taskList.getId());
+    }
+
+    private void recordLookup(boolean hit) {
+        if (hit) {
+            hits++;
+        } else {
+            misses++;
+        }
+    }
+
+    private static void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static String nameKey(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static TaskList copyOf(TaskList taskList) {
+        return TaskList.builder()
+                .id(taskList.getId())
+                .name(taskList.getName())
+                .systemDefined(taskList.isSystemDefined())
+                .createdAt(taskList.getCreatedAt())
+                .updatedAt(taskList.getUpdatedAt())
+                .build();
+    }
+}
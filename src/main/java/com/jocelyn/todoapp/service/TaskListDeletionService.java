@@ -0,0 +1,179 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.config.BulkProperties;
+import com.jocelyn.todoapp.dto.ListDeletionJobResponse;
+import com.jocelyn.todoapp.event.ListDeletionRequestedEvent;
+import com.jocelyn.todoapp.event.TaskChange;
+import com.jocelyn.todoapp.event.TaskSnapshot;
+import com.jocelyn.todoapp.event.TasksChangedEvent;
+import com.jocelyn.todoapp.exception.ResourceNotFoundException;
+import com.jocelyn.todoapp.model.ImportJob;
+import com.jocelyn.todoapp.model.JobStatus;
+import com.jocelyn.todoapp.model.ListDeletionJob;
+import com.jocelyn.todoapp.repository.ArchivedTaskRepository;
+import com.jocelyn.todoapp.repository.ListDeletionJobRepository;
+import com.jocelyn.todoapp.repository.TaskListRepository;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import com.jocelyn.todoapp.repository.TaskTombstoneRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deletes the tasks of a hidden list in chunks of {@code todoapp.bulk.statement-chunk-size}, one
+ * short transaction per chunk, and finally its archived tasks and the list itself. Every step is
+ * idempotent, so jobs left unfinished by a restart are simply run again. Task writes are rejected
+ * once a list is marked deleting, but one that was already in flight may still add a task; the
+ * chunk loop is then repeated before the list row is deleted again.
+ */
+@Slf4j
+@Service
+public class TaskListDeletionService {
+
+    private static final int MAX_LIST_DELETE_ATTEMPTS = 3;
+
+    private final ListDeletionJobRepository listDeletionJobRepository;
+    private final TaskListRepository taskListRepository;
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final ArchivedTaskRepository archivedTaskRepository;
+    private final BulkProperties bulkProperties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("list-deletion-", 0).factory());
+
+    public TaskListDeletionService(ListDeletionJobRepository listDeletionJobRepository,
+                                   TaskListRepository taskListRepository,
+                                   TaskRepository taskRepository,
+                                   TaskTombstoneRepository taskTombstoneRepository,
+                                   ArchivedTaskRepository archivedTaskRepository,
+                                   BulkProperties bulkProperties,
+                                   ApplicationEventPublisher eventPublisher,
+                                   PlatformTransactionManager transactionManager) {
+        this.listDeletionJobRepository = listDeletionJobRepository;
+        this.taskListRepository = taskListRepository;
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.archivedTaskRepository = archivedTaskRepository;
+        this.bulkProperties = bulkProperties;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener
+    public void onDeletionRequested(ListDeletionRequestedEvent event) {
+        executor.execute(() -> run(event.jobId()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedJobs() {
+        listDeletionJobRepository.findByStatusIn(List.of(JobStatus.QUEUED, JobStatus.RUNNING, JobStatus.FAILED))
+                .forEach(job -> executor.execute(() -> run(job.getId())));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public ListDeletionJobResponse get(Long jobId) {
+        return toResponse(findById(jobId));
+    }
+
+    private void run(Long jobId) {
+        ListDeletionJob job = findById(jobId);
+        job.setStatus(JobStatus.RUNNING);
+        job.setLastError(null);
+        job = listDeletionJobRepository.save(job);
+        Long listId = job.getListId();
+        try {
+            for (int attempt = 1; ; attempt++) {
+                Integer deleted;
+                do {
+                    deleted = transactionTemplate.execute(status -> deleteChunk(jobId, listId));
+                } while (deleted != null && deleted > 0 && !Thread.currentThread().isInterrupted());
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        archivedTaskRepository.deleteByListId(listId);
+                        taskListRepository.deleteById(listId);
+                        taskListRepository.flush();
+                        ListDeletionJob completed = findById(jobId);
+                        completed.setStatus(JobStatus.COMPLETED);
+                        listDeletionJobRepository.save(completed);
+                    });
+                    return;
+                } catch (DataIntegrityViolationException ex) {
+                    if (attempt == MAX_LIST_DELETE_ATTEMPTS) {
+                        throw ex;
+                    }
+                    log.info("List {} gained tasks while being deleted, deleting them again", listId);
+                }
+            }
+        } catch (RuntimeException ex) {
+            log.error("Deleting list {} failed", listId, ex);
+            ListDeletionJob failed = findById(jobId);
+            failed.setStatus(JobStatus.FAILED);
+            String message = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+            failed.setLastError(message.length() > ImportJob.MAX_ERROR_LENGTH
+                    ? message.substring(0, ImportJob.MAX_ERROR_LENGTH)
+                    : message);
+            listDeletionJobRepository.save(failed);
+        }
+    }
+
+    private int deleteChunk(Long jobId, Long listId) {
+        List<TaskSnapshot> tasks =
+                taskRepository.findSnapshotsByListId(listId, Limit.of(bulkProperties.getStatementChunkSize()));
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = tasks.stream().map(TaskSnapshot::id).toList();
+        taskTombstoneRepository.insertForTasks(ids, LocalDateTime.now());
+        taskRepository.clearParentReferences(ids);
+        int deleted = taskRepository.deleteAllByIdIn(ids);
+        listDeletionJobRepository.addDeletedTasks(jobId, deleted);
+        eventPublisher.publishEvent(new TasksChangedEvent(tasks.stream().map(TaskChange::deleted).toList()));
+        return deleted;
+    }
+
+    private ListDeletionJob findById(Long jobId) {
+        return listDeletionJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("List deletion not found with id: " + jobId));
+    }
+
+    static ListDeletionJobResponse toResponse(ListDeletionJob job) {
+        long total = Math.max(job.getTotalTasks(), job.getDeletedTasks());
+        int percent = job.getStatus() == JobStatus.COMPLETED ? 100
+                : total > 0 ? (int) (job.getDeletedTasks() * 100 / total) : 0;
+        return ListDeletionJobResponse.builder()
+                .id(job.getId())
+                .listId(job.getListId())
+                .listName(job.getListName())
+                .status(job.getStatus())
+                .totalTasks(job.getTotalTasks())
+                .deletedTasks(job.getDeletedTasks())
+                .percentComplete(percent)
+                .lastError(job.getLastError())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,29 +1,47 @@
 package com.jocelyn.todoapp.service;
 
+import com.jocelyn.todoapp.dto.ListDeletionJobResponse;
 import com.jocelyn.todoapp.dto.TaskListRequest;
 import com.jocelyn.todoapp.dto.TaskListResponse;
+import com.jocelyn.todoapp.event.ChangeType;
+import com.jocelyn.todoapp.event.ListDeletionRequestedEvent;
+import com.jocelyn.todoapp.event.TaskListChangedEvent;
 import com.jocelyn.todoapp.exception.BadRequestException;
 import com.jocelyn.todoapp.exception.DuplicateResourceException;
 import com.jocelyn.todoapp.exception.ResourceNotFoundException;
+import com.jocelyn.todoapp.index.TaskListCounters;
+import com.jocelyn.todoapp.model.JobStatus;
+import com.jocelyn.todoapp.model.ListDeletionJob;
 import com.jocelyn.todoapp.model.TaskList;
+import com.jocelyn.todoapp.repository.ListDeletionJobRepository;
 import com.jocelyn.todoapp.repository.TaskListRepository;
-import com.jocelyn.todoapp.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "todoapp.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class TaskListService {
 
+    private static final String DELETING_NAME_PREFIX = "#deleting-";
+
     private final TaskListRepository taskListRepository;
-    private final TaskRepository taskRepository;
+    private final TaskListCache taskListCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskListCounters taskListCounters;
+    private final ListDeletionJobRepository listDeletionJobRepository;
 
     public TaskListResponse create(TaskListRequest request) {
         String normalizedName = request.getName().trim();
-        if (taskListRepository.existsByNameIgnoreCase(normalizedName)) {
+        if (findIdByName(normalizedName).isPresent()) {
             throw new DuplicateResourceException("A list with this name already exists");
         }
 
@@ -32,21 +50,29 @@ public class TaskListService {
                 .systemDefined(false)
                 .build();
 
-        return toResponse(taskListRepository.save(taskList));
+        TaskList saved = taskListRepository.save(taskList);
+        taskListCache.put(saved);
+        eventPublisher.publishEvent(new TaskListChangedEvent(ChangeType.CREATED, saved.getId()));
+        return toResponse(saved);
     }
 
     public List<TaskListResponse> getAll() {
-        return taskListRepository.findAll()
-                .stream()
+        List<TaskList> taskLists = taskListCache.getAll().orElseGet(() -> {
+            long generation = taskListCache.generation();
+            List<TaskList> loaded = taskListRepository.findByDeletingFalse();
+            taskListCache.putAll(loaded, generation);
+            return loaded;
+        });
+        return taskLists.stream()
                 .map(this::toResponse)
                 .toList();
     }
 
     public TaskListResponse update(Long id, TaskListRequest request) {
-        TaskList taskList = findById(id);
+        TaskList taskList = loadById(id);
         String normalizedName = request.getName().trim();
-        boolean duplicate = taskListRepository.findByNameIgnoreCase(normalizedName)
-                .filter(existing -> !existing.getId().equals(id))
+        boolean duplicate = findIdByName(normalizedName)
+                .filter(existingId -> !existingId.equals(id))
                 .isPresent();
 
         if (duplicate) {
@@ -54,30 +80,83 @@ public class TaskListService {
         }
 
         taskList.setName(normalizedName);
-        return toResponse(taskListRepository.save(taskList));
+        taskListCache.evict(id);
+        TaskList saved = taskListRepository.save(taskList);
+        taskListCache.put(saved);
+        eventPublisher.publishEvent(new TaskListChangedEvent(ChangeType.UPDATED, saved.getId()));
+        return toResponse(saved);
     }
 
+    /**
+     * Hides the list and frees its name right away; its tasks are removed in the background by
+     * {@link TaskListDeletionService}.
+     */
     @Transactional
-    public void delete(Long id) {
-        TaskList taskList = findById(id);
+    public ListDeletionJobResponse delete(Long id) {
+        TaskList taskList = loadById(id);
         if (taskList.isSystemDefined()) {
             throw new BadRequestException("System-defined lists cannot be deleted");
         }
-        taskRepository.clearParentReferencesByListId(id);
-        taskRepository.deleteByTaskListId(id);
-        taskListRepository.delete(taskList);
+        taskListCache.evict(id);
+        String name = taskList.getName();
+        taskList.setDeleting(true);
+        taskList.setName(DELETING_NAME_PREFIX + UUID.randomUUID());
+        taskListRepository.save(taskList);
+
+        ListDeletionJob job = listDeletionJobRepository.save(ListDeletionJob.builder()
+                .listId(id)
+                .listName(name)
+                .status(JobStatus.QUEUED)
+                .totalTasks(taskListCounters.total(id))
+                .build());
+        eventPublisher.publishEvent(new TaskListChangedEvent(ChangeType.DELETED, id));
+        eventPublisher.publishEvent(new ListDeletionRequestedEvent(job.getId()));
+        return TaskListDeletionService.toResponse(job);
     }
 
     public TaskList findById(Long id) {
+        return taskListCache.get(id).orElseGet(() -> {
+            long generation = taskListCache.generation();
+            TaskList loaded = loadById(id);
+            taskListCache.putLoaded(loaded, generation);
+            return loaded;
+        });
+    }
+
+    public long getDataVersion(Long id) {
+        return taskListRepository.findDataVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("List not found with id: " + id));
+    }
+
+    public void incrementDataVersion(Collection<Long> ids) {
+        taskListRepository.incrementDataVersion(ids);
+    }
+
+    private TaskList loadById(Long id) {
         return taskListRepository.findById(id)
+                .filter(taskList -> !taskList.isDeleting())
                 .orElseThrow(() -> new ResourceNotFoundException("List not found with id: " + id));
     }
 
+    private Optional<Long> findIdByName(String name) {
+        Optional<Long> cachedId = taskListCache.findIdByName(name);
+        if (cachedId.isPresent() || taskListCache.isComplete()) {
+            return cachedId;
+        }
+        return taskListRepository.findByNameIgnoreCase(name).map(TaskList::getId);
+    }
+
     private TaskListResponse toResponse(TaskList taskList) {
+        long total = taskListCounters.total(taskList.getId());
+        long completed = taskListCounters.completed(taskList.getId());
         return TaskListResponse.builder()
                 .id(taskList.getId())
                 .name(taskList.getName())
                 .systemDefined(taskList.isSystemDefined())
+                .totalTasks(total)
+                .completedTasks(completed)
+                .openTasks(total - completed)
+                .overdueTasks(taskListCounters.overdue(taskList.getId()))
                 .createdAt(taskList.getCreatedAt())
                 .updatedAt(taskList.getUpdatedAt())
                 .build();
@@ -0,0 +1,128 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.exception.BadRequestException;
+import com.jocelyn.todoapp.model.Priority;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * JSON merge-patch body for a task: absent members are left alone, explicit nulls clear the
+ * column. Length limits mirror the constraints on {@code TaskRequest}.
+ */
+final class TaskPatch {
+
+    private static final Set<String> FIELDS = Set.of("title", "description", "completed", "dueDate", "priority",
+            "notes", "location", "meetingLink", "listId", "parentTaskId", "version");
+
+    private static final Set<String> FLAG_FIELDS = Set.of("completed", "priority");
+
+    private final Map<String, Object> values;
+
+    private TaskPatch(Map<String, Object> values) {
+        this.values = values;
+    }
+
+    static TaskPatch of(Map<String, Object> body) {
+        if (body == null || body.isEmpty()) {
+            throw new BadRequestException("Patch body must not be empty");
+        }
+        for (String field : body.keySet()) {
+            if (!FIELDS.contains(field)) {
+                throw new BadRequestException("Unknown task field: " + field);
+            }
+        }
+        return new TaskPatch(body);
+    }
+
+    static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        tag = tag.replace("\"", "");
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("If-Match must carry the task version");
+        }
+    }
+
+    boolean isFlagsOnly() {
+        return FLAG_FIELDS.containsAll(values.keySet());
+    }
+
+    boolean has(String field) {
+        return values.containsKey(field);
+    }
+
+    String text(String field, int maxLength, boolean required) {
+        Object value = values.get(field);
+        if (value == null) {
+            if (required) {
+                throw new BadRequestException("Task " + field + " cannot be null");
+            }
+            return null;
+        }
+        if (!(value instanceof String text)) {
+            throw new BadRequestException("Task " + field + " must be a string");
+        }
+        if (required && text.isBlank()) {
+            throw new BadRequestException("Task " + field + " cannot be blank");
+        }
+        if (text.length() > maxLength) {
+            throw new BadRequestException("Task " + field + " cannot exceed " + maxLength + " characters");
+        }
+        return text;
+    }
+
+    boolean bool(String field) {
+        if (!(values.get(field) instanceof Boolean flag)) {
+            throw new BadRequestException("Task " + field + " must be true or false");
+        }
+        return flag;
+    }
+
+    LocalDate date(String field) {
+        Object value = values.get(field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.toString());
+        } catch (DateTimeParseException ex) {
+            throw new BadRequestException("Task " + field + " must be an ISO date");
+        }
+    }
+
+    Priority priority() {
+        Object value = values.get("priority");
+        if (value == null) {
+            throw new BadRequestException("Task priority cannot be null");
+        }
+        try {
+            return Priority.valueOf(value.toString());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown priority: " + value);
+        }
+    }
+
+    Long id(String field, boolean required) {
+        Object value = values.get(field);
+        if (value == null) {
+            if (required) {
+                throw new BadRequestException("Task " + field + " cannot be null");
+            }
+            return null;
+        }
+        if (!(value instanceof Number number)) {
+            throw new BadRequestException("Task " + field + " must be a number");
+        }
+        return number.longValue();
+    }
+}
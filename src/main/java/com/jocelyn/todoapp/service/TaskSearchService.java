@@ -0,0 +1,55 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.config.PaginationProperties;
+import com.jocelyn.todoapp.dto.TaskResponse;
+import com.jocelyn.todoapp.dto.TaskSearchResponse;
+import com.jocelyn.todoapp.exception.BadRequestException;
+import com.jocelyn.todoapp.exception.ServiceUnavailableException;
+import com.jocelyn.todoapp.index.TaskSearchIndex;
+import com.jocelyn.todoapp.model.Priority;
+import com.jocelyn.todoapp.model.Task;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "todoapp.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class TaskSearchService {
+
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskRepository taskRepository;
+    private final PaginationProperties paginationProperties;
+
+    public TaskSearchResponse search(String query, Long listId, Priority priority, Boolean completed, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("Search query must not be blank");
+        }
+        if (!taskSearchIndex.isReady()) {
+            throw new ServiceUnavailableException("Search index is not ready yet");
+        }
+        int pageSize = PageSizes.resolve(size, paginationProperties);
+        TaskSearchIndex.Result result = taskSearchIndex.search(query, listId, priority, completed, pageSize);
+
+        Map<Long, Task> tasksById = new HashMap<>();
+        if (!result.ids().isEmpty()) {
+            taskRepository.findAllById(result.ids()).forEach(task -> tasksById.put(task.getId(), task));
+        }
+        List<TaskResponse> items = result.ids().stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .map(TaskService::toResponse)
+                .toList();
+        return TaskSearchResponse.builder()
+                .query(query)
+                .total(result.total())
+                .items(items)
+                .build();
+    }
+}
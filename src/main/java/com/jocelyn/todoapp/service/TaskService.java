@@ -1,60 +1,206 @@
 package com.jocelyn.todoapp.service;
 
+import com.jocelyn.todoapp.config.BulkProperties;
+import com.jocelyn.todoapp.config.PaginationProperties;
+import com.jocelyn.todoapp.dto.PageResponse;
+import com.jocelyn.todoapp.dto.TaskBatchCreateRequest;
+import com.jocelyn.todoapp.dto.TaskBatchCreateResponse;
+import com.jocelyn.todoapp.dto.TaskBatchItem;
+import com.jocelyn.todoapp.dto.TaskDeleteResponse;
 import com.jocelyn.todoapp.dto.TaskMoveRequest;
 import com.jocelyn.todoapp.dto.TaskRequest;
 import com.jocelyn.todoapp.dto.TaskResponse;
+import com.jocelyn.todoapp.event.TaskChange;
+import com.jocelyn.todoapp.event.TaskSnapshot;
+import com.jocelyn.todoapp.event.TasksChangedEvent;
 import com.jocelyn.todoapp.exception.BadRequestException;
 import com.jocelyn.todoapp.exception.ResourceNotFoundException;
+import com.jocelyn.todoapp.index.DueDateIndex;
+import com.jocelyn.todoapp.metrics.TaskMetrics;
+import com.jocelyn.todoapp.model.Priority;
 import com.jocelyn.todoapp.model.Task;
 import com.jocelyn.todoapp.model.TaskList;
+import com.jocelyn.todoapp.repository.TaskField;
 import com.jocelyn.todoapp.repository.TaskRepository;
-import lombok.RequiredArgsConstructor;
+import com.jocelyn.todoapp.repository.TaskRow;
+import com.jocelyn.todoapp.repository.TaskRowQuery;
+import com.jocelyn.todoapp.repository.TaskTombstoneRepository;
+import com.jocelyn.todoapp.writebehind.TaskWriteBuffer;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Service
-@RequiredArgsConstructor
+@Timed(value = "todoapp.service", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class TaskService {
 
     private final TaskRepository taskRepository;
     private final TaskListService taskListService;
+    private final PaginationProperties paginationProperties;
+    private final DueDateIndex dueDateIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskMetrics taskMetrics;
+    private final SmartViewVersion smartViewVersion;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskWriteBuffer taskWriteBuffer;
+    private final BulkProperties bulkProperties;
+    private final TransactionTemplate transactionTemplate;
 
+    public TaskService(TaskRepository taskRepository,
+                       TaskListService taskListService,
+                       PaginationProperties paginationProperties,
+                       DueDateIndex dueDateIndex,
+                       ApplicationEventPublisher eventPublisher,
+                       TaskMetrics taskMetrics,
+                       SmartViewVersion smartViewVersion,
+                       TaskTombstoneRepository taskTombstoneRepository,
+                       TaskWriteBuffer taskWriteBuffer,
+                       BulkProperties bulkProperties,
+                       PlatformTransactionManager transactionManager) {
+        this.taskRepository = taskRepository;
+        this.taskListService = taskListService;
+        this.paginationProperties = paginationProperties;
+        this.dueDateIndex = dueDateIndex;
+        this.eventPublisher = eventPublisher;
+        this.taskMetrics = taskMetrics;
+        this.smartViewVersion = smartViewVersion;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskWriteBuffer = taskWriteBuffer;
+        this.bulkProperties = bulkProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
     public TaskResponse create(TaskRequest request) {
         TaskList taskList = taskListService.findById(request.getListId());
         Task parent = resolveParentForList(request.getParentTaskId(), taskList.getId());
 
-        Task task = Task.builder()
-                .title(request.getTitle().trim())
-                .description(request.getDescription())
-                .completed(request.isCompleted())
-                .dueDate(request.getDueDate())
-                .priority(request.getPriority())
-                .notes(request.getNotes())
-                .location(request.getLocation())
-                .meetingLink(request.getMeetingLink())
-                .taskList(taskList)
-                .parentTask(parent)
-                .build();
+        Task saved = taskRepository.save(newTask(request, taskList, parent));
+        taskListService.incrementDataVersion(List.of(taskList.getId()));
+        eventPublisher.publishEvent(TasksChangedEvent.of(TaskChange.created(TaskSnapshot.of(saved))));
+        return toResponse(saved);
+    }
+
+    /**
+     * Creates all tasks in one transaction. Ids come from the pooled sequence at persist time, so
+     * children can reference parents from the same batch by {@code parentTempId} and every insert
+     * is deferred to a single flush, where Hibernate sends them as JDBC batches.
+     */
+    @Transactional
+    public TaskBatchCreateResponse createBatch(TaskBatchCreateRequest request) {
+        List<TaskBatchItem> items = request.getTasks();
+        int maxBatchCreate = bulkProperties.getMaxBatchCreate();
+        if (items.size() > maxBatchCreate) {
+            throw new BadRequestException("Batch create is limited to " + maxBatchCreate + " tasks");
+        }
 
-        return toResponse(taskRepository.save(task), false, Map.of());
+        Map<String, TaskBatchItem> itemsByTempId = new HashMap<>();
+        Set<Long> existingParentIds = new HashSet<>();
+        for (TaskBatchItem item : items) {
+            if (item.getTempId() != null && itemsByTempId.put(item.getTempId(), item) != null) {
+                throw new BadRequestException("Duplicate temp id: " + item.getTempId());
+            }
+            if (item.getParentTempId() != null && item.getParentTaskId() != null) {
+                throw new BadRequestException("Provide either a parent task id or a parent temp id");
+            }
+            if (item.getParentTaskId() != null) {
+                existingParentIds.add(item.getParentTaskId());
+            }
+        }
+
+        Map<Long, Task> existingParents = new HashMap<>();
+        taskRepository.findAllById(existingParentIds).forEach(task -> existingParents.put(task.getId(), task));
+        for (Long parentId : existingParentIds) {
+            if (!existingParents.containsKey(parentId)) {
+                throw new ResourceNotFoundException("Task not found with id: " + parentId);
+            }
+        }
+
+        Map<Long, TaskList> lists = new HashMap<>();
+        Map<TaskBatchItem, Task> created = new IdentityHashMap<>();
+        for (TaskBatchItem item : items) {
+            persistBatchItem(item, itemsByTempId, existingParents, lists, created, new HashSet<>());
+        }
+        taskRepository.flush();
+
+        List<Task> tasks = items.stream().map(created::get).toList();
+        taskListService.incrementDataVersion(lists.keySet());
+        eventPublisher.publishEvent(new TasksChangedEvent(tasks.stream()
+                .map(task -> TaskChange.created(TaskSnapshot.of(task)))
+                .toList()));
+
+        Map<String, Long> ids = new LinkedHashMap<>();
+        items.stream()
+                .filter(item -> item.getTempId() != null)
+                .forEach(item -> ids.put(item.getTempId(), created.get(item).getId()));
+        return TaskBatchCreateResponse.builder()
+                .tasks(tasks.stream().map(TaskService::toResponse).toList())
+                .ids(ids)
+                .build();
     }
 
     public TaskResponse update(Long taskId, TaskRequest request) {
+        taskWriteBuffer.flushTask(taskId);
+        return transactionTemplate.execute(status -> applyUpdate(taskId, request));
+    }
+
+    public TaskResponse patch(Long taskId, Map<String, Object> body, String ifMatch, String clientId) {
+        TaskPatch patch = TaskPatch.of(body);
+        Long expectedVersion = TaskPatch.parseIfMatch(ifMatch);
+        if (taskWriteBuffer.isEnabled() && expectedVersion == null && patch.isFlagsOnly()) {
+            return bufferFlagsPatch(taskId, patch, clientId);
+        }
+        taskWriteBuffer.flushTask(taskId);
+        return transactionTemplate.execute(status -> applyPatch(taskId, patch, expectedVersion));
+    }
+
+    public TaskDeleteResponse delete(Long taskId) {
+        taskWriteBuffer.flushTask(taskId);
+        return transactionTemplate.execute(status -> {
+            Task task = findById(taskId);
+            return TaskDeleteResponse.builder()
+                    .id(task.getId())
+                    .deletedCount(deleteSubtree(task))
+                    .build();
+        });
+    }
+
+    public TaskResponse move(Long taskId, TaskMoveRequest request) {
+        taskWriteBuffer.flushTask(taskId);
+        return transactionTemplate.execute(status -> applyMove(taskId, request));
+    }
+
+    private TaskResponse applyUpdate(Long taskId, TaskRequest request) {
         Task existing = findById(taskId);
         TaskList taskList = taskListService.findById(request.getListId());
         Task parent = resolveParentForList(request.getParentTaskId(), taskList.getId());
 
         if (parent != null) {
-            validateNoCircularReference(existing.getId(), parent);
+            validateNoCircularReference(existing, parent);
         }
 
+        TaskSnapshot before = TaskSnapshot.of(existing);
+        Long previousListId = existing.getTaskList().getId();
         existing.setTitle(request.getTitle().trim());
         existing.setDescription(request.getDescription());
         existing.setCompleted(request.isCompleted());
@@ -63,67 +209,356 @@ public class TaskService {
         existing.setNotes(request.getNotes());
         existing.setLocation(request.getLocation());
         existing.setMeetingLink(request.getMeetingLink());
-        existing.setTaskList(taskList);
-        existing.setParentTask(parent);
+        List<TaskChange> changes = new ArrayList<>(relocate(existing, taskList, parent));
 
-        return toResponse(taskRepository.save(existing), false, Map.of());
+        Task saved = taskRepository.saveAndFlush(existing);
+        taskListService.incrementDataVersion(listIds(previousListId, taskList.getId()));
+        changes.add(TaskChange.updated(before, TaskSnapshot.of(saved)));
+        eventPublisher.publishEvent(new TasksChangedEvent(changes));
+        return toResponse(saved);
     }
 
-    @Transactional
-    public void delete(Long taskId) {
+    private TaskResponse applyPatch(Long taskId, TaskPatch patch, Long expectedVersion) {
         Task task = findById(taskId);
-        deleteTaskRecursively(task);
+        Long version = expectedVersion != null ? expectedVersion : patch.id("version", false);
+        if (version != null && version != task.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, taskId);
+        }
+
+        TaskSnapshot before = TaskSnapshot.of(task);
+        long versionBefore = task.getVersion();
+        Long previousListId = task.getTaskList().getId();
+        if (patch.has("title")) {
+            task.setTitle(patch.text("title", 255, true).trim());
+        }
+        if (patch.has("description")) {
+            task.setDescription(patch.text("description", 5000, false));
+        }
+        if (patch.has("completed")) {
+            task.setCompleted(patch.bool("completed"));
+        }
+        if (patch.has("dueDate")) {
+            task.setDueDate(patch.date("dueDate"));
+        }
+        if (patch.has("priority")) {
+            task.setPriority(patch.priority());
+        }
+        if (patch.has("notes")) {
+            task.setNotes(patch.text("notes", 5000, false));
+        }
+        if (patch.has("location")) {
+            task.setLocation(patch.text("location", 255, false));
+        }
+        if (patch.has("meetingLink")) {
+            task.setMeetingLink(patch.text("meetingLink", 1024, false));
+        }
+
+        List<TaskChange> changes = new ArrayList<>();
+        if (patch.has("listId") || patch.has("parentTaskId")) {
+            TaskList taskList = patch.has("listId")
+                    ? taskListService.findById(patch.id("listId", true))
+                    : task.getTaskList();
+            boolean listChanged = !taskList.getId().equals(previousListId);
+            Long parentTaskId = patch.has("parentTaskId")
+                    ? patch.id("parentTaskId", false)
+                    : listChanged || task.getParentTask() == null ? null : task.getParentTask().getId();
+            Task parent = resolveParentForList(parentTaskId, taskList.getId());
+            if (parent != null) {
+                validateNoCircularReference(task, parent);
+            }
+            changes.addAll(relocate(task, taskList, parent));
+        }
+
+        Task saved = taskRepository.saveAndFlush(task);
+        if (saved.getVersion() == versionBefore && changes.isEmpty()) {
+            return toResponse(saved);
+        }
+        taskListService.incrementDataVersion(listIds(previousListId, saved.getTaskList().getId()));
+        changes.add(TaskChange.updated(before, TaskSnapshot.of(saved)));
+        eventPublisher.publishEvent(new TasksChangedEvent(changes));
+        return toResponse(saved);
     }
 
-    public TaskResponse move(Long taskId, TaskMoveRequest request) {
+    private TaskResponse applyMove(Long taskId, TaskMoveRequest request) {
         Task task = findById(taskId);
         Long targetListId = request.getListId() != null ? request.getListId() : task.getTaskList().getId();
         TaskList targetList = taskListService.findById(targetListId);
 
         Task parent = resolveParentForList(request.getParentTaskId(), targetListId);
         if (parent != null) {
-            validateNoCircularReference(taskId, parent);
+            validateNoCircularReference(task, parent);
         }
 
-        task.setTaskList(targetList);
-        task.setParentTask(parent);
-        return toResponse(taskRepository.save(task), false, Map.of());
+        TaskSnapshot before = TaskSnapshot.of(task);
+        Long previousListId = task.getTaskList().getId();
+        List<TaskChange> changes = new ArrayList<>(relocate(task, targetList, parent));
+
+        Task saved = taskRepository.saveAndFlush(task);
+        taskListService.incrementDataVersion(listIds(previousListId, targetListId));
+        changes.add(TaskChange.updated(before, TaskSnapshot.of(saved)));
+        eventPublisher.publishEvent(new TasksChangedEvent(changes));
+        return toResponse(saved);
+    }
+
+    /**
+     * The lists a write touched: the task's previous list and, when it moved, its new one.
+     */
+    private static List<Long> listIds(Long previousListId, Long currentListId) {
+        return previousListId.equals(currentListId)
+                ? List.of(previousListId)
+                : List.of(previousListId, currentListId);
+    }
+
+    private TaskResponse bufferFlagsPatch(Long taskId, TaskPatch patch, String clientId) {
+        Boolean completed = patch.has("completed") ? patch.bool("completed") : null;
+        Priority priority = patch.has("priority") ? patch.priority() : null;
+        return taskWriteBuffer.enqueue(taskId, completed, priority, clientId, () -> toResponse(findById(taskId)));
+    }
+
+    @Transactional(readOnly = true)
+    public TaskResponse getSubtree(Long taskId) {
+        Task root = findById(taskId);
+        List<TaskRow> rows = taskRepository.findSubtreeRows(root.getId(), root.subtreePath() + "%");
+        taskMetrics.recordTree("getSubtree", rows);
+        return TaskTreeBuilder.build(rows).get(0);
     }
 
-    public List<TaskResponse> getByList(Long listId) {
+    public PageResponse<TaskResponse> getByList(Long listId, String cursor, Integer size) {
         taskListService.findById(listId);
-        return taskRepository.findByTaskListIdOrderByCreatedAtDesc(listId)
-                .stream()
-                .map(task -> toResponse(task, false, Map.of()))
-                .toList();
+        int pageSize = PageSizes.resolve(size, paginationProperties);
+        ScrollPosition position = TaskCursor.toScrollPosition(cursor, listId);
+        PageResponse<TaskResponse> page = toPage(taskRepository.findByTaskListIdOrderByTaskListIdDescCreatedAtDescIdDesc(
+                listId, position, Limit.of(pageSize)), pageSize);
+        taskMetrics.recordResultSize("getByList", page.getItems().size());
+        return page;
     }
 
+    @Transactional(readOnly = true)
     public List<TaskResponse> getTreeByList(Long listId) {
         taskListService.findById(listId);
-        List<Task> tasks = taskRepository.findByTaskListIdOrderByCreatedAtDesc(listId);
-        return buildTree(tasks);
+        List<TaskRow> rows = taskRepository.findTreeRowsByListId(listId);
+        taskMetrics.recordTree("getTreeByList", rows);
+        return TaskTreeBuilder.build(rows);
+    }
+
+    public PageResponse<TaskResponse> getSmartView(String view, String cursor, Integer size) {
+        int pageSize = PageSizes.resolve(size, paginationProperties);
+        DueRange range = dueRange(view);
+        Window<Task> window = range != null
+                ? dueDateWindow(range.from(), range.to(), range.openOnly(), cursor, pageSize)
+                : taskRepository.findByTaskListDeletingFalseOrderByCreatedAtDescIdDesc(TaskCursor.toScrollPosition(cursor),
+                        Limit.of(pageSize));
+        taskMetrics.recordResultSize("getSmartView", window.size());
+        return toPage(window, pageSize);
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<?> getByList(Long listId, String cursor, Integer size, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        if (selection == null) {
+            return getByList(listId, cursor, size);
+        }
+        taskListService.findById(listId);
+        int pageSize = PageSizes.resolve(size, paginationProperties);
+        PageResponse<Map<String, Object>> page = projectedPage(TaskRowQuery.forList(listId), selection, cursor, pageSize);
+        taskMetrics.recordResultSize("getByList", page.getItems().size());
+        return page;
+    }
+
+    @Transactional(readOnly = true)
+    public List<?> getTreeByList(Long listId, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        if (selection == null) {
+            return getTreeByList(listId);
+        }
+        taskListService.findById(listId);
+        List<TaskRow> rows = taskRepository.findRows(selection.with(TaskField.PARENT_TASK_ID, TaskField.DEPTH),
+                TaskRowQuery.forList(listId), Limit.unlimited());
+        taskMetrics.recordTree("getTreeByList", rows);
+        return TaskTreeBuilder.build(rows).stream()
+                .map(root -> selection.project(root, true))
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<?> getSmartView(String view, String cursor, Integer size, String fields) {
+        FieldSelection selection = FieldSelection.parse(fields);
+        if (selection == null) {
+            return getSmartView(view, cursor, size);
+        }
+        int pageSize = PageSizes.resolve(size, paginationProperties);
+        DueRange range = dueRange(view);
+        PageResponse<Map<String, Object>> page = range != null
+                ? projectedDueDatePage(range, selection, cursor, pageSize)
+                : projectedPage(TaskRowQuery.all(), selection, cursor, pageSize);
+        taskMetrics.recordResultSize("getSmartView", page.getItems().size());
+        return page;
     }
 
-    public List<TaskResponse> getSmartView(String view) {
+    public String listETag(Long listId, String variant) {
+        return ETags.of("list-" + listId, String.valueOf(taskListService.getDataVersion(listId)), variant);
+    }
+
+    public String smartViewETag(String view, String variant) {
+        return ETags.of("view-" + LocalDate.now(), smartViewVersion.current(), view.toLowerCase() + "|" + variant);
+    }
+
+    private static DueRange dueRange(String view) {
         LocalDate today = LocalDate.now();
         return switch (view.toLowerCase()) {
-            case "today" -> taskRepository.findByDueDate(today).stream().map(t -> toResponse(t, false, Map.of())).toList();
-            case "week", "this-week", "thisweek" -> {
-                LocalDate start = today.with(DayOfWeek.MONDAY);
-                LocalDate end = today.with(DayOfWeek.SUNDAY);
-                yield taskRepository.findByDueDateBetween(start, end).stream().map(t -> toResponse(t, false, Map.of())).toList();
-            }
-            case "overdue" -> taskRepository.findByDueDateBeforeAndCompletedFalse(today)
-                    .stream()
-                    .map(t -> toResponse(t, false, Map.of()))
-                    .toList();
-            case "all", "all-tasks" -> taskRepository.findAllByOrderByCreatedAtDesc().stream().map(t -> toResponse(t, false, Map.of())).toList();
+            case "today" -> new DueRange(today, today, false);
+            case "week", "this-week", "thisweek" ->
+                    new DueRange(today.with(DayOfWeek.MONDAY), today.with(DayOfWeek.SUNDAY), false);
+            case "overdue" -> new DueRange(null, today.minusDays(1), true);
+            case "all", "all-tasks" -> null;
             default -> throw new BadRequestException("Unsupported smart view: " + view);
         };
     }
 
+    private Window<Task> dueDateWindow(LocalDate from, LocalDate to, boolean openOnly, String cursor, int pageSize) {
+        if (!dueDateIndex.isReady()) {
+            return dueDateWindowFromDatabase(from, to, openOnly, cursor, pageSize);
+        }
+        TaskCursor position = cursor != null && !cursor.isBlank() ? TaskCursor.decode(cursor) : null;
+        DueDateIndex.Page page = dueDateIndex.page(from, to, openOnly,
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                pageSize);
+
+        Map<Long, Task> tasksById = new HashMap<>();
+        taskRepository.findAllById(page.ids()).forEach(task -> tasksById.put(task.getId(), task));
+        List<Task> tasks = page.ids().stream()
+                .map(tasksById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return Window.from(tasks, index -> ScrollPosition.keyset(), page.hasNext());
+    }
+
+    private Window<Task> dueDateWindowFromDatabase(LocalDate from, LocalDate to, boolean openOnly,
+                                                   String cursor, int pageSize) {
+        ScrollPosition position = TaskCursor.toScrollPosition(cursor);
+        Limit limit = Limit.of(pageSize);
+        if (openOnly) {
+            return taskRepository.findByDueDateBeforeAndCompletedFalseOrderByCreatedAtDescIdDesc(to.plusDays(1), position, limit);
+        }
+        if (from.equals(to)) {
+            return taskRepository.findByDueDateOrderByCreatedAtDescIdDesc(from, position, limit);
+        }
+        return taskRepository.findByDueDateBetweenOrderByCreatedAtDescIdDesc(from, to, position, limit);
+    }
+
+    private PageResponse<TaskResponse> toPage(Window<Task> window, int pageSize) {
+        List<TaskResponse> items = window.stream()
+                .map(TaskService::toResponse)
+                .toList();
+        String next = window.hasNext() && !window.isEmpty()
+                ? TaskCursor.of(window.getContent().get(window.size() - 1)).encode()
+                : null;
+        return PageResponse.<TaskResponse>builder()
+                .items(items)
+                .size(pageSize)
+                .next(next)
+                .build();
+    }
+
+    private PageResponse<Map<String, Object>> projectedDueDatePage(DueRange range, FieldSelection selection,
+                                                                  String cursor, int pageSize) {
+        if (!dueDateIndex.isReady()) {
+            return projectedPage(TaskRowQuery.due(range.from(), range.to(), range.openOnly()), selection, cursor,
+                    pageSize);
+        }
+        TaskCursor position = cursor != null && !cursor.isBlank() ? TaskCursor.decode(cursor) : null;
+        DueDateIndex.Page page = dueDateIndex.page(range.from(), range.to(), range.openOnly(),
+                position != null ? position.createdAt() : null,
+                position != null ? position.id() : null,
+                pageSize);
+
+        Map<Long, TaskRow> rowsById = new HashMap<>();
+        taskRepository.findRows(selection.fields(), TaskRowQuery.byIds(page.ids()), Limit.unlimited())
+                .forEach(row -> rowsById.put(row.id(), row));
+        List<TaskRow> rows = page.ids().stream()
+                .map(rowsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return toProjectedPage(rows, page.hasNext(), selection, pageSize);
+    }
+
+    private PageResponse<Map<String, Object>> projectedPage(TaskRowQuery query, FieldSelection selection,
+                                                           String cursor, int pageSize) {
+        if (cursor != null && !cursor.isBlank()) {
+            TaskCursor position = TaskCursor.decode(cursor);
+            query = query.after(position.createdAt(), position.id());
+        }
+        List<TaskRow> rows = taskRepository.findRows(selection.fields(), query, Limit.of(pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        return toProjectedPage(hasNext ? rows.subList(0, pageSize) : rows, hasNext, selection, pageSize);
+    }
+
+    private static PageResponse<Map<String, Object>> toProjectedPage(List<TaskRow> rows, boolean hasNext,
+                                                                     FieldSelection selection, int pageSize) {
+        List<Map<String, Object>> items = rows.stream()
+                .map(row -> selection.project(TaskTreeBuilder.toResponse(row, List.of()), false))
+                .toList();
+        TaskRow last = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        return PageResponse.<Map<String, Object>>builder()
+                .items(items)
+                .size(pageSize)
+                .next(hasNext && last != null ? new TaskCursor(last.createdAt(), last.id()).encode() : null)
+                .build();
+    }
+
+    private Task persistBatchItem(TaskBatchItem item, Map<String, TaskBatchItem> itemsByTempId,
+                                  Map<Long, Task> existingParents, Map<Long, TaskList> lists,
+                                  Map<TaskBatchItem, Task> created, Set<TaskBatchItem> visiting) {
+        Task task = created.get(item);
+        if (task != null) {
+            return task;
+        }
+        if (!visiting.add(item)) {
+            throw new BadRequestException("Circular parent temp id reference at: " + item.getTempId());
+        }
+
+        TaskList taskList = lists.computeIfAbsent(item.getListId(), taskListService::findById);
+        Task parent = null;
+        if (item.getParentTempId() != null) {
+            TaskBatchItem parentItem = itemsByTempId.get(item.getParentTempId());
+            if (parentItem == null) {
+                throw new BadRequestException("Unknown parent temp id: " + item.getParentTempId());
+            }
+            parent = persistBatchItem(parentItem, itemsByTempId, existingParents, lists, created, visiting);
+        } else if (item.getParentTaskId() != null) {
+            parent = existingParents.get(item.getParentTaskId());
+        }
+        if (parent != null && !parent.getTaskList().getId().equals(taskList.getId())) {
+            throw new BadRequestException("Parent task must belong to the same list");
+        }
+
+        task = taskRepository.save(newTask(item, taskList, parent));
+        created.put(item, task);
+        return task;
+    }
+
+    private Task newTask(TaskRequest request, TaskList taskList, Task parent) {
+        Task task = Task.builder()
+                .title(request.getTitle().trim())
+                .description(request.getDescription())
+                .completed(request.isCompleted())
+                .dueDate(request.getDueDate())
+                .priority(request.getPriority())
+                .notes(request.getNotes())
+                .location(request.getLocation())
+                .meetingLink(request.getMeetingLink())
+                .taskList(taskList)
+                .parentTask(parent)
+                .path(parent != null ? parent.subtreePath() : Task.ROOT_PATH)
+                .depth(parent != null ? parent.getDepth() + 1 : 0)
+                .build();
+        validatePathLength(task.getPath().length());
+        return task;
+    }
+
     private Task findById(Long id) {
-        return taskRepository.findById(id)
+        return taskRepository.findActiveById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task not found with id: " + id));
     }
 
@@ -138,47 +573,58 @@ public class TaskService {
         return parent;
     }
 
-    private void validateNoCircularReference(Long taskId, Task candidateParent) {
-        if (taskId.equals(candidateParent.getId())) {
+    private void validateNoCircularReference(Task task, Task candidateParent) {
+        if (task.getId().equals(candidateParent.getId())) {
             throw new BadRequestException("A task cannot be parent of itself");
         }
+        if (task.isAncestorOf(candidateParent)) {
+            throw new BadRequestException("Circular hierarchy detected");
+        }
+    }
 
-        Task current = candidateParent;
-        while (current != null) {
-            if (taskId.equals(current.getId())) {
-                throw new BadRequestException("Circular hierarchy detected");
-            }
-            current = current.getParentTask();
+    private void validatePathLength(int pathLength) {
+        if (pathLength > Task.MAX_PATH_LENGTH) {
+            throw new BadRequestException("Maximum task nesting depth exceeded");
         }
     }
 
-    private List<TaskResponse> buildTree(List<Task> tasks) {
-        Map<Long, List<Task>> childrenByParent = new HashMap<>();
-        List<Task> roots = new ArrayList<>();
+    private List<TaskChange> relocate(Task task, TaskList targetList, Task parent) {
+        String oldSubtreePath = task.subtreePath();
+        int oldDepth = task.getDepth();
+        boolean listChanged = !targetList.getId().equals(task.getTaskList().getId());
+        if (listChanged) {
+            taskTombstoneRepository.insertForSubtree(task.getId(), oldSubtreePath + "%", LocalDateTime.now());
+        }
 
-        for (Task task : tasks) {
-            Task parent = task.getParentTask();
-            if (parent == null) {
-                roots.add(task);
-            } else {
-                childrenByParent.computeIfAbsent(parent.getId(), key -> new ArrayList<>()).add(task);
-            }
+        task.setTaskList(targetList);
+        task.setParentTask(parent);
+        task.setPath(parent != null ? parent.subtreePath() : Task.ROOT_PATH);
+        task.setDepth(parent != null ? parent.getDepth() + 1 : 0);
+
+        String newSubtreePath = task.subtreePath();
+        if (!listChanged && newSubtreePath.equals(oldSubtreePath)) {
+            return List.of();
         }
 
-        return roots.stream()
-                .map(root -> toResponse(root, true, childrenByParent))
+        String descendantPattern = oldSubtreePath + "%";
+        Integer deepestPath = taskRepository.findMaxPathLength(descendantPattern);
+        int longestNewPath = deepestPath != null
+                ? deepestPath - oldSubtreePath.length() + newSubtreePath.length()
+                : newSubtreePath.length();
+        validatePathLength(longestNewPath);
+
+        List<TaskSnapshot> descendants = listChanged
+                ? taskRepository.findDescendantSnapshots(descendantPattern)
+                : List.of();
+        LocalDateTime now = LocalDateTime.now();
+        taskRepository.relocateDescendants(descendantPattern, oldSubtreePath.length(), newSubtreePath,
+                task.getDepth() - oldDepth, targetList, now);
+        return descendants.stream()
+                .map(before -> TaskChange.updated(before, before.withListId(targetList.getId(), now)))
                 .toList();
     }
 
-    private TaskResponse toResponse(Task task, boolean includeChildren, Map<Long, List<Task>> childrenMap) {
-        List<TaskResponse> children = List.of();
-        if (includeChildren) {
-            children = childrenMap.getOrDefault(task.getId(), List.of())
-                    .stream()
-                    .map(child -> toResponse(child, true, childrenMap))
-                    .toList();
-        }
-
+    static TaskResponse toResponse(Task task) {
         return TaskResponse.builder()
                 .id(task.getId())
                 .title(task.getTitle())
@@ -191,17 +637,25 @@ public class TaskService {
                 .meetingLink(task.getMeetingLink())
                 .listId(task.getTaskList().getId())
                 .parentTaskId(task.getParentTask() != null ? task.getParentTask().getId() : null)
+                .depth(task.getDepth())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
-                .children(children)
+                .version(task.getVersion())
+                .children(List.of())
                 .build();
     }
 
-    private void deleteTaskRecursively(Task task) {
-        List<Task> children = taskRepository.findByParentTaskIdOrderByCreatedAtAsc(task.getId());
-        for (Task child : children) {
-            deleteTaskRecursively(child);
-        }
-        taskRepository.delete(task);
+    private int deleteSubtree(Task task) {
+        List<TaskSnapshot> subtree = taskRepository.findSubtreeSnapshots(task.getId(), task.subtreePath() + "%");
+        List<Long> ids = subtree.stream().map(TaskSnapshot::id).toList();
+        taskTombstoneRepository.insertForTasks(ids, LocalDateTime.now());
+        taskRepository.clearParentReferences(ids);
+        int deleted = taskRepository.deleteAllByIdIn(ids);
+        taskListService.incrementDataVersion(List.of(task.getTaskList().getId()));
+        eventPublisher.publishEvent(new TasksChangedEvent(subtree.stream().map(TaskChange::deleted).toList()));
+        return deleted;
+    }
+
+    private record DueRange(LocalDate from, LocalDate to, boolean openOnly) {
     }
 }
@@ -0,0 +1,119 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.config.PaginationProperties;
+import com.jocelyn.todoapp.config.SyncProperties;
+import com.jocelyn.todoapp.dto.TaskChangesResponse;
+import com.jocelyn.todoapp.dto.TaskResponse;
+import com.jocelyn.todoapp.dto.TaskTombstoneResponse;
+import com.jocelyn.todoapp.model.Task;
+import com.jocelyn.todoapp.model.TaskTombstone;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import com.jocelyn.todoapp.repository.TaskTombstoneRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Changes feed for a list. Only changes older than the settle time are returned, so a
+ * transaction that commits late with an earlier timestamp is still picked up by the next
+ * call instead of being skipped by the token. Timestamps are taken when a row is written, not
+ * when it commits, so this only holds because {@link TransactionDurationGuard} rolls back writes
+ * that run longer than {@code todoapp.sync.max-transaction-duration}, which must stay below the
+ * settle time.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskSyncService {
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final PaginationProperties paginationProperties;
+    private final SyncProperties syncProperties;
+
+    @Transactional(readOnly = true)
+    public TaskChangesResponse getChanges(Long listId, String token, Integer size) {
+        int pageSize = PageSizes.resolve(size, paginationProperties);
+        SyncToken position = SyncToken.decode(token);
+        LocalDateTime now = LocalDateTime.now();
+        if (!position.isStart() && position.at().isBefore(now.minus(syncProperties.getTombstoneRetention()))) {
+            return TaskChangesResponse.builder()
+                    .changed(List.of())
+                    .deleted(List.of())
+                    .resetRequired(true)
+                    .build();
+        }
+
+        LocalDateTime horizon = now.minus(syncProperties.getSettleTime());
+        List<Task> tasks = taskRepository.findChangedSince(listId, position.at(), position.afterTaskId(),
+                horizon, Limit.of(pageSize + 1));
+        List<TaskTombstone> tombstones = taskTombstoneRepository.findChangedSince(listId, position.at(),
+                position.afterTombstoneId(), horizon, Limit.of(pageSize + 1));
+
+        List<Change> merged = new ArrayList<>(tasks.size() + tombstones.size());
+        tasks.forEach(task -> merged.add(new Change(task.getUpdatedAt(), SyncToken.Kind.TASK, task.getId(), task, null)));
+        tombstones.forEach(tombstone -> merged.add(
+                new Change(tombstone.getDeletedAt(), SyncToken.Kind.TOMBSTONE, tombstone.getId(), null, tombstone)));
+        merged.sort(Change.ORDER);
+
+        boolean hasMore = merged.size() > pageSize;
+        List<Change> page = hasMore ? merged.subList(0, pageSize) : merged;
+
+        Map<Long, TaskResponse> changed = new LinkedHashMap<>();
+        Map<Long, TaskTombstoneResponse> deleted = new LinkedHashMap<>();
+        for (Change change : page) {
+            if (change.task() != null) {
+                deleted.remove(change.task().getId());
+                changed.put(change.task().getId(), TaskService.toResponse(change.task()));
+            } else {
+                TaskTombstone tombstone = change.tombstone();
+                changed.remove(tombstone.getTaskId());
+                deleted.put(tombstone.getTaskId(), TaskTombstoneResponse.builder()
+                        .taskId(tombstone.getTaskId())
+                        .deletedAt(tombstone.getDeletedAt())
+                        .build());
+            }
+        }
+
+        SyncToken next = page.isEmpty()
+                ? position
+                : page.get(page.size() - 1).token();
+        return TaskChangesResponse.builder()
+                .changed(List.copyOf(changed.values()))
+                .deleted(List.copyOf(deleted.values()))
+                .next(next.encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${todoapp.sync.compaction-interval:PT1H}")
+    @Transactional
+    public void compactTombstones() {
+        int removed = taskTombstoneRepository.deleteOlderThan(
+                LocalDateTime.now().minus(syncProperties.getTombstoneRetention()));
+        if (removed > 0) {
+            log.info("Compacted {} task tombstones", removed);
+        }
+    }
+
+    private record Change(LocalDateTime at, SyncToken.Kind kind, Long id, Task task, TaskTombstone tombstone) {
+
+        static final Comparator<Change> ORDER = Comparator.comparing(Change::at)
+                .thenComparing(Change::kind)
+                .thenComparing(Change::id);
+
+        SyncToken token() {
+            return new SyncToken(at, kind, id);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.dto.TaskResponse;
+import com.jocelyn.todoapp.repository.TaskRow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+final class TaskTreeBuilder {
+
+    private TaskTreeBuilder() {
+    }
+
+    static List<TaskResponse> build(List<TaskRow> rows) {
+        Map<Long, List<TaskResponse>> childrenById = new HashMap<>(Math.max(16, rows.size() * 4 / 3 + 1));
+        List<TaskResponse> nodes = new ArrayList<>(rows.size());
+        for (TaskRow row : rows) {
+            List<TaskResponse> children = new ArrayList<>();
+            childrenById.put(row.id(), children);
+            nodes.add(toResponse(row, children));
+        }
+
+        List<TaskResponse> roots = new ArrayList<>();
+        for (TaskResponse node : nodes) {
+            List<TaskResponse> siblings = node.getParentTaskId() != null
+                    ? childrenById.get(node.getParentTaskId())
+                    : null;
+            if (siblings != null) {
+                siblings.add(node);
+            } else {
+                roots.add(node);
+            }
+        }
+        return roots;
+    }
+
+    static TaskResponse toResponse(TaskRow row, List<TaskResponse> children) {
+        return TaskResponse.builder()
+                .id(row.id())
+                .title(row.title())
+                .description(row.description())
+                .completed(row.completed())
+                .dueDate(row.dueDate())
+                .priority(row.priority())
+                .notes(row.notes())
+                .location(row.location())
+                .meetingLink(row.meetingLink())
+                .listId(row.listId())
+                .parentTaskId(row.parentTaskId())
+                .depth(row.depth())
+                .createdAt(row.createdAt())
+                .updatedAt(row.updatedAt())
+                .version(row.version())
+                .children(children)
+                .build();
+    }
+}
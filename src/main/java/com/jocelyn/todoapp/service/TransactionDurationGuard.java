@@ -0,0 +1,74 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.config.SyncProperties;
+import com.jocelyn.todoapp.exception.ServiceUnavailableException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rolls back writing transactions that try to commit more than
+ * {@code todoapp.sync.max-transaction-duration} after they began. Every timestamp a transaction
+ * writes is taken after it began, so with this cap a change is committed less than the cap after
+ * its timestamp, and {@link TaskSyncService} waiting out the longer settle time never hands out a
+ * token past a change that has not committed yet. Spring Boot registers it with the transaction
+ * manager as an execution listener.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionDurationGuard implements TransactionExecutionListener {
+
+    private final SyncProperties syncProperties;
+
+    private final Map<TransactionExecution, Long> startedAt = new ConcurrentHashMap<>();
+    private long maxNanos;
+
+    @PostConstruct
+    public void start() {
+        Duration max = syncProperties.getMaxTransactionDuration();
+        if (max.compareTo(syncProperties.getSettleTime()) >= 0) {
+            throw new IllegalStateException("todoapp.sync.max-transaction-duration (" + max
+                    + ") must be shorter than todoapp.sync.settle-time (" + syncProperties.getSettleTime() + ")");
+        }
+        maxNanos = max.toNanos();
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && !transaction.isReadOnly()) {
+            startedAt.put(transaction, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        Long started = startedAt.get(transaction);
+        if (started == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - started;
+        if (elapsed > maxNanos) {
+            log.warn("Rolling back a transaction that ran {} ms, longer than the {} ms sync allows",
+                    elapsed / 1_000_000, maxNanos / 1_000_000);
+            throw new ServiceUnavailableException("The change took too long to apply, please retry");
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        startedAt.remove(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        startedAt.remove(transaction);
+    }
+}
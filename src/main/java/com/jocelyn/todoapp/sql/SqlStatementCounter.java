@@ -0,0 +1,15 @@
+package com.jocelyn.todoapp.sql;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+public class SqlStatementCounter implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null) {
+            stats.recordStatement(sql);
+        }
+        return sql;
+    }
+}
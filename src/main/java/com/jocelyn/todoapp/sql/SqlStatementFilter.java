@@ -0,0 +1,34 @@
+package com.jocelyn.todoapp.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementStats stats = SqlStatementStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            SqlStatementStats.stop();
+            request.setAttribute(SqlStatementStats.REQUEST_ATTRIBUTE, stats);
+            log.debug("{} {} issued {} SQL statements in {} ms", request.getMethod(), request.getRequestURI(),
+                    stats.getStatements(), stats.getJdbcTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.jocelyn.todoapp.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+@Slf4j
+@RestControllerAdvice
+public class SqlStatementHeaderAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String JDBC_TIME_HEADER = "X-SQL-Time-Ms";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats == null) {
+            return body;
+        }
+        response.getHeaders().set(STATEMENTS_HEADER, String.valueOf(stats.getStatements()));
+        response.getHeaders().set(JDBC_TIME_HEADER, String.valueOf(stats.getJdbcTimeMillis()));
+
+        StatementBudget budget = returnType.getMethodAnnotation(StatementBudget.class);
+        if (budget != null && stats.getStatements() > budget.value()) {
+            log.warn("{} exceeded its SQL statement budget: {} > {}", returnType.getExecutable().toGenericString(),
+                    stats.getStatements(), budget.value());
+        }
+        return body;
+    }
+}
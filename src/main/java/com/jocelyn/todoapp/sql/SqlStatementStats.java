@@ -0,0 +1,73 @@
+package com.jocelyn.todoapp.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public final class SqlStatementStats {
+
+    public static final String REQUEST_ATTRIBUTE = SqlStatementStats.class.getName();
+
+    private static final ThreadLocal<SqlStatementStats> CURRENT = new ThreadLocal<>();
+
+    private final List<String> sql;
+    private int statements;
+    private long jdbcNanos;
+
+    private SqlStatementStats(List<String> sql) {
+        this.sql = sql;
+    }
+
+    public static SqlStatementStats start() {
+        return start(null);
+    }
+
+    /**
+     * Like {@link #start()}, but also keeps the text of every statement Hibernate prepares, as
+     * seen by the {@link SqlStatementCounter}.
+     */
+    public static SqlStatementStats capture() {
+        return start(new ArrayList<>());
+    }
+
+    private static SqlStatementStats start(List<String> sql) {
+        SqlStatementStats stats = new SqlStatementStats(sql);
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static SqlStatementStats current() {
+        return CURRENT.get();
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    void recordStatement(String statement) {
+        statements++;
+        if (sql != null) {
+            sql.add(statement);
+        }
+    }
+
+    void recordJdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getJdbcTimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(jdbcNanos);
+    }
+
+    public long getJdbcTimeNanos() {
+        return jdbcNanos;
+    }
+
+    public List<String> getSql() {
+        return sql != null ? List.copyOf(sql) : List.of();
+    }
+}
@@ -0,0 +1,36 @@
+package com.jocelyn.todoapp.sql;
+
+import org.hibernate.SessionEventListener;
+
+public class SqlTimingListener implements SessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlStatementStats stats = SqlStatementStats.current();
+        if (stats != null && executionStart != 0) {
+            stats.recordJdbcTime(System.nanoTime() - executionStart);
+        }
+        executionStart = 0;
+    }
+}
@@ -0,0 +1,20 @@
+package com.jocelyn.todoapp.writebehind;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+@RequiredArgsConstructor
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private final TaskWriteBuffer taskWriteBuffer;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if ("GET".equals(request.getMethod())) {
+            taskWriteBuffer.flushForClient(request.getHeader(TaskWriteBuffer.CLIENT_ID_HEADER));
+        }
+        return true;
+    }
+}
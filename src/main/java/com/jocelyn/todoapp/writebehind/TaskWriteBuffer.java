@@ -0,0 +1,250 @@
+package com.jocelyn.todoapp.writebehind;
+
+import com.jocelyn.todoapp.config.WriteBehindProperties;
+import com.jocelyn.todoapp.dto.TaskResponse;
+import com.jocelyn.todoapp.event.TaskChange;
+import com.jocelyn.todoapp.event.TaskSnapshot;
+import com.jocelyn.todoapp.event.TasksChangedEvent;
+import com.jocelyn.todoapp.exception.ServiceUnavailableException;
+import com.jocelyn.todoapp.model.Priority;
+import com.jocelyn.todoapp.repository.TaskNodeRow;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import com.jocelyn.todoapp.service.TaskListService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind buffer for completed/priority flips. Repeated writes to the same task are merged
+ * and flushed as one JDBC batch at most {@code flush-interval} later, or in the background once
+ * {@code max-pending} tasks are waiting. A client that reads (or any request that writes the same
+ * task through the regular path) forces a flush first, and waits for a flush already in flight, so
+ * callers always see their own writes. Callers must flush before opening their own transaction;
+ * the flush runs in a transaction of its own.
+ */
+@Slf4j
+@Component
+public class TaskWriteBuffer {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    private static final String UPDATE_SQL =
+            "UPDATE tasks SET completed = ?, priority = ?, updated_at = ?, version = version + 1 WHERE id = ?";
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final WriteBehindProperties properties;
+    private final TaskRepository taskRepository;
+    private final TaskListService taskListService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, PendingWrite> pending = new ConcurrentHashMap<>();
+    private final Set<String> clientsWithPending = ConcurrentHashMap.newKeySet();
+    private final Set<Long> tasksInFlight = ConcurrentHashMap.newKeySet();
+    private final Set<String> clientsInFlight = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final ExecutorService flusher =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("write-behind-flush").factory());
+
+    public TaskWriteBuffer(WriteBehindProperties properties,
+                           TaskRepository taskRepository,
+                           TaskListService taskListService,
+                           ApplicationEventPublisher eventPublisher,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager) {
+        this.properties = properties;
+        this.taskRepository = taskRepository;
+        this.taskListService = taskListService;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Buffers the flags and returns the task loaded by {@code current} as it will read once every
+     * buffered write to it has been flushed.
+     */
+    public TaskResponse enqueue(Long taskId, Boolean completed, Priority priority, String clientId,
+                                Supplier<TaskResponse> current) {
+        TaskResponse response;
+        flushLock.lock();
+        try {
+            TaskResponse stored = current.get();
+            PendingWrite merged = pending.merge(taskId, PendingWrite.of(taskId, completed, priority, clientId),
+                    PendingWrite::merge);
+            if (clientId != null) {
+                clientsWithPending.add(clientId);
+            }
+            response = merged.applyTo(stored);
+        } finally {
+            flushLock.unlock();
+        }
+        if (pending.size() >= properties.getMaxPending() && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(() -> {
+                flushRequested.set(false);
+                flush();
+            });
+        }
+        return response;
+    }
+
+    public void flushForClient(String clientId) {
+        if (clientId != null && (clientsWithPending.contains(clientId) || clientsInFlight.contains(clientId))) {
+            flushAll();
+        }
+    }
+
+    public void flushTask(Long taskId) {
+        if (pending.containsKey(taskId) || tasksInFlight.contains(taskId)) {
+            flushAll();
+        }
+    }
+
+    public void flushAll() {
+        if (!flushPending()) {
+            throw new ServiceUnavailableException("Buffered task writes could not be saved, try again shortly");
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${todoapp.write-behind.flush-interval:250ms}")
+    public void flush() {
+        flushPending();
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(30, TimeUnit.SECONDS);
+        if (!flushPending()) {
+            log.error("Shutting down with {} buffered task writes that could not be saved", pending.size());
+        }
+    }
+
+    /**
+     * Writes everything buffered so far. Failed writes are requeued with their client ids and
+     * {@code false} is returned; the error is logged here rather than surfaced to whichever
+     * request happened to trigger the flush.
+     */
+    private boolean flushPending() {
+        flushLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                return true;
+            }
+            Set<String> clients = Set.copyOf(clientsWithPending);
+            clientsInFlight.addAll(clients);
+            clientsWithPending.removeAll(clients);
+            List<PendingWrite> batch = new ArrayList<>(pending.size());
+            for (Long taskId : List.copyOf(pending.keySet())) {
+                tasksInFlight.add(taskId);
+                PendingWrite write = pending.remove(taskId);
+                if (write != null) {
+                    batch.add(write);
+                }
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(batch));
+                return true;
+            } catch (RuntimeException ex) {
+                log.error("Failed to flush {} buffered task writes, requeueing", batch.size(), ex);
+                for (PendingWrite write : batch) {
+                    pending.merge(write.taskId(), write, (queued, failed) -> failed.merge(queued));
+                    clientsWithPending.addAll(write.clientIds());
+                }
+                return false;
+            } finally {
+                tasksInFlight.clear();
+                clientsInFlight.clear();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void apply(List<PendingWrite> batch) {
+        List<Long> ids = batch.stream().map(PendingWrite::taskId).toList();
+        Map<Long, TaskNodeRow> current = new HashMap<>();
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+            taskRepository.findNodesByIdIn(ids.subList(from, Math.min(from + LOAD_CHUNK_SIZE, ids.size())))
+                    .forEach(row -> current.put(row.id(), row));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> arguments = new ArrayList<>(batch.size());
+        List<TaskChange> changes = new ArrayList<>(batch.size());
+        Set<Long> listIds = new HashSet<>();
+        for (PendingWrite write : batch) {
+            TaskNodeRow row = current.get(write.taskId());
+            if (row == null) {
+                continue;
+            }
+            boolean completed = write.completed() != null ? write.completed() : row.completed();
+            Priority priority = write.priority() != null ? write.priority() : row.priority();
+            if (completed == row.completed() && priority == row.priority()) {
+                continue;
+            }
+            arguments.add(new Object[]{completed, priority.name(), now, row.id()});
+            TaskSnapshot before = row.snapshot();
+            changes.add(TaskChange.updated(before,
+                    before.withCompleted(completed, now).withPriority(priority, now)));
+            listIds.add(row.listId());
+        }
+        if (arguments.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(UPDATE_SQL, arguments);
+        taskListService.incrementDataVersion(listIds);
+        eventPublisher.publishEvent(new TasksChangedEvent(changes));
+    }
+
+    private record PendingWrite(Long taskId, Boolean completed, Priority priority, Set<String> clientIds) {
+
+        static PendingWrite of(Long taskId, Boolean completed, Priority priority, String clientId) {
+            return new PendingWrite(taskId, completed, priority, clientId != null ? Set.of(clientId) : Set.of());
+        }
+
+        PendingWrite merge(PendingWrite newer) {
+            Set<String> mergedClientIds = new HashSet<>(clientIds);
+            mergedClientIds.addAll(newer.clientIds);
+            return new PendingWrite(taskId,
+                    newer.completed != null ? newer.completed : completed,
+                    newer.priority != null ? newer.priority : priority,
+                    mergedClientIds);
+        }
+
+        TaskResponse applyTo(TaskResponse response) {
+            return response.toBuilder()
+                    .completed(completed != null ? completed : response.isCompleted())
+                    .priority(priority != null ? priority : response.getPriority())
+                    .build();
+        }
+    }
+}
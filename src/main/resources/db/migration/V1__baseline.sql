@@ -0,0 +1,89 @@
+-- Schema previously generated by Hibernate (ddl-auto=update), with the text columns sized to
+-- the request validation limits.
+
+CREATE SEQUENCE task_lists_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE task_import_refs_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE task_lists (
+    id                BIGINT       NOT NULL PRIMARY KEY,
+    name              VARCHAR(255) NOT NULL,
+    is_system_defined BOOLEAN      NOT NULL,
+    deleting          BOOLEAN      NOT NULL DEFAULT FALSE,
+    data_version      BIGINT       NOT NULL DEFAULT 0,
+    created_at        TIMESTAMP(6) NOT NULL,
+    updated_at        TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_task_lists_name UNIQUE (name)
+);
+
+CREATE TABLE tasks (
+    id             BIGINT        NOT NULL PRIMARY KEY,
+    title          VARCHAR(255)  NOT NULL,
+    description    VARCHAR(5000),
+    completed      BOOLEAN       NOT NULL,
+    due_date       DATE,
+    priority       VARCHAR(16)   NOT NULL,
+    notes          VARCHAR(5000),
+    location       VARCHAR(255),
+    meeting_link   VARCHAR(1024),
+    list_id        BIGINT        NOT NULL,
+    parent_task_id BIGINT,
+    path           VARCHAR(4000) NOT NULL,
+    depth          INTEGER       NOT NULL,
+    version        BIGINT        NOT NULL DEFAULT 0,
+    created_at     TIMESTAMP(6)  NOT NULL,
+    updated_at     TIMESTAMP(6)  NOT NULL
+);
+
+CREATE INDEX idx_tasks_path ON tasks (path);
+CREATE INDEX idx_tasks_list_updated ON tasks (list_id, updated_at, id);
+
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_list FOREIGN KEY (list_id) REFERENCES task_lists (id);
+ALTER TABLE tasks ADD CONSTRAINT fk_tasks_parent FOREIGN KEY (parent_task_id) REFERENCES tasks (id);
+
+CREATE TABLE task_tombstones (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    task_id    BIGINT       NOT NULL,
+    list_id    BIGINT       NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_task_tombstones_list_deleted ON task_tombstones (list_id, deleted_at, id);
+CREATE INDEX idx_task_tombstones_deleted ON task_tombstones (deleted_at);
+
+CREATE TABLE import_jobs (
+    id                BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    format            VARCHAR(16)   NOT NULL,
+    status            VARCHAR(16)   NOT NULL,
+    sha256            VARCHAR(64)   NOT NULL,
+    size_bytes        BIGINT        NOT NULL,
+    processed_bytes   BIGINT        NOT NULL,
+    committed_records BIGINT        NOT NULL,
+    created_tasks     BIGINT        NOT NULL,
+    skipped_records   BIGINT        NOT NULL,
+    last_error        VARCHAR(1000),
+    created_at        TIMESTAMP(6)  NOT NULL,
+    updated_at        TIMESTAMP(6)  NOT NULL
+);
+
+CREATE TABLE task_import_refs (
+    id          BIGINT      NOT NULL PRIMARY KEY,
+    job_id      BIGINT      NOT NULL,
+    external_id VARCHAR(64) NOT NULL,
+    task_id     BIGINT      NOT NULL,
+    list_id     BIGINT      NOT NULL
+);
+
+CREATE UNIQUE INDEX idx_task_import_refs_job_external ON task_import_refs (job_id, external_id);
+
+CREATE TABLE list_deletion_jobs (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    list_id       BIGINT        NOT NULL,
+    list_name     VARCHAR(255)  NOT NULL,
+    status        VARCHAR(16)   NOT NULL,
+    total_tasks   BIGINT        NOT NULL,
+    deleted_tasks BIGINT        NOT NULL,
+    last_error    VARCHAR(1000),
+    created_at    TIMESTAMP(6)  NOT NULL,
+    updated_at    TIMESTAMP(6)  NOT NULL
+);
@@ -0,0 +1,28 @@
+-- Cold tier for completed subtrees. Rows keep their task id; root_id is the task the subtree was
+-- archived under, which is also the unit of restore.
+CREATE TABLE archived_tasks (
+    id             BIGINT        NOT NULL PRIMARY KEY,
+    root_id        BIGINT        NOT NULL,
+    list_id        BIGINT        NOT NULL,
+    parent_task_id BIGINT,
+    title          VARCHAR(255)  NOT NULL,
+    description    VARCHAR(5000),
+    completed      BOOLEAN       NOT NULL,
+    due_date       DATE,
+    priority       VARCHAR(16)   NOT NULL,
+    notes          VARCHAR(5000),
+    location       VARCHAR(255),
+    meeting_link   VARCHAR(1024),
+    path           VARCHAR(4000) NOT NULL,
+    depth          INTEGER       NOT NULL,
+    version        BIGINT        NOT NULL,
+    created_at     TIMESTAMP(6)  NOT NULL,
+    updated_at     TIMESTAMP(6)  NOT NULL,
+    archived_at    TIMESTAMP(6)  NOT NULL
+);
+
+CREATE INDEX idx_archived_tasks_root ON archived_tasks (root_id, depth);
+CREATE INDEX idx_archived_tasks_list ON archived_tasks (list_id, id);
+
+-- Drives the archive scan for old completed tasks.
+CREATE INDEX idx_tasks_completed_updated ON tasks (completed, updated_at);
@@ -0,0 +1,365 @@
+package com.jocelyn.todoapp.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jocelyn.todoapp.index.TaskSearchIndex;
+import com.jocelyn.todoapp.model.ImportJob;
+import com.jocelyn.todoapp.model.JobStatus;
+import com.jocelyn.todoapp.repository.ImportJobRepository;
+import com.jocelyn.todoapp.sql.SqlStatementFilter;
+import com.jocelyn.todoapp.sql.StatementBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static com.jocelyn.todoapp.sql.SqlStatementAssertions.statsOf;
+import static com.jocelyn.todoapp.sql.SqlStatementAssertions.withinStatementBudget;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class StatementBudgetTests {
+
+    private static final int TASK_COUNT = 20;
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private SqlStatementFilter sqlStatementFilter;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(sqlStatementFilter)
+                .build();
+    }
+
+    @Test
+    void everyEndpointDeclaresStatementBudget() {
+        for (Class<?> controller : List.of(TaskController.class, TaskListController.class, ImportController.class)) {
+            for (Method method : controller.getDeclaredMethods()) {
+                if (AnnotatedElementUtils.hasAnnotation(method, RequestMapping.class)) {
+                    assertThat(method.getAnnotation(StatementBudget.class))
+                            .as("@StatementBudget on %s", method)
+                            .isNotNull();
+                }
+            }
+        }
+    }
+
+    @Test
+    void taskEndpointsStayWithinStatementBudget() throws Exception {
+        long listId = createList();
+        long rootId = createTask(listId, null, "Root");
+        long childId = rootId;
+        for (int i = 0; i < TASK_COUNT; i++) {
+            childId = createTask(listId, i % 2 == 0 ? rootId : childId, "Task " + i);
+        }
+
+        mockMvc.perform(get("/api/tasks/list/{listId}", listId))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+        mockMvc.perform(get("/api/tasks/list/{listId}/tree", listId))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+        mockMvc.perform(get("/api/tasks/{id}/subtree", rootId))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+        for (String view : List.of("today", "week", "overdue", "all")) {
+            mockMvc.perform(get("/api/tasks/smart-view").param("view", view))
+                    .andExpect(status().isOk())
+                    .andExpect(withinStatementBudget());
+        }
+
+        mockMvc.perform(put("/api/tasks/{id}", childId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskJson(listId, rootId, "Renamed", true)))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+        mockMvc.perform(patch("/api/tasks/{id}", childId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"completed\":false}"))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+        mockMvc.perform(patch("/api/tasks/{id}", childId)
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType("application/merge-patch+json")
+                        .content("{\"completed\":true}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(put("/api/tasks/{id}/move", rootId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"listId\":" + createList() + "}"))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+        mockMvc.perform(delete("/api/tasks/{id}", rootId))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+    }
+
+    @Test
+    void syncSearchAndBulkEndpointsStayWithinStatementBudget() throws Exception {
+        long listId = createList();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < TASK_COUNT; i++) {
+            ids.add(createTask(listId, null, "Budgeted " + i));
+        }
+        taskSearchIndex.awaitPendingChanges();
+
+        MvcResult changes = mockMvc.perform(get("/api/tasks/list/{listId}/changes", listId))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget())
+                .andReturn();
+        String next = JsonPath.read(changes.getResponse().getContentAsString(), "$.next");
+        mockMvc.perform(get("/api/tasks/list/{listId}/changes", listId).param("since", next))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+        mockMvc.perform(get("/api/tasks/search").param("q", "budgeted").param("listId", String.valueOf(listId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(TASK_COUNT))
+                .andExpect(withinStatementBudget());
+
+        String allIds = ids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"operations":[{"type":"COMPLETE","ids":[%1$s]},
+                                               {"type":"SET_PRIORITY","priority":"LOW","ids":[%1$s]},
+                                               {"type":"MOVE","targetListId":%2$d,"ids":[%1$s]},
+                                               {"type":"DELETE","ids":[%1$s]}]}
+                                """.formatted(allIds, createList())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[3].affected").value(TASK_COUNT))
+                .andExpect(withinStatementBudget());
+    }
+
+    @Test
+    void importEndpointsStayWithinStatementBudget() throws Exception {
+        String list = uniqueName();
+        mockMvc.perform(post("/api/lists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + list + "\"}"))
+                .andExpect(status().isCreated());
+        String ndjson = "{\"list\":\"%s\",\"title\":\"Imported\"}\n".formatted(list);
+
+        MvcResult started = mockMvc.perform(post("/api/imports")
+                        .contentType(ImportController.NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isAccepted())
+                .andExpect(withinStatementBudget())
+                .andReturn();
+        mockMvc.perform(post("/api/imports")
+                        .contentType(ImportController.CSV)
+                        .content("list,title\n" + list + ",Imported\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(withinStatementBudget());
+        long jobId = idOf(started);
+        awaitImport(jobId);
+
+        ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+        job.setStatus(JobStatus.FAILED);
+        importJobRepository.save(job);
+        mockMvc.perform(post("/api/imports/{id}/resume", jobId)
+                        .contentType(ImportController.NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isAccepted())
+                .andExpect(withinStatementBudget());
+        awaitImport(jobId);
+    }
+
+    @Test
+    void batchCreateBatchesInsertsAndResolvesTempIds() throws Exception {
+        long listId = createList();
+        StringBuilder tasks = new StringBuilder();
+        for (int i = 0; i < TASK_COUNT * 10; i++) {
+            if (i > 0) {
+                tasks.append(',');
+            }
+            String parent = i == 0 ? "null" : "\"t" + (i - 1) / 2 + "\"";
+            tasks.append("""
+                    {"tempId":"t%d","parentTempId":%s,"title":"Batch %d","priority":"LOW","listId":%d}
+                    """.formatted(i, parent, i, listId));
+        }
+
+        MvcResult result = mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"tasks\":[" + tasks + "]}"))
+                .andExpect(status().isCreated())
+                .andExpect(withinStatementBudget())
+                .andReturn();
+        String body = result.getResponse().getContentAsString();
+        Number rootId = JsonPath.read(body, "$.ids.t0");
+        Number firstChildParent = JsonPath.read(body, "$.tasks[1].parentTaskId");
+        assertThat(firstChildParent.longValue()).isEqualTo(rootId.longValue());
+
+        mockMvc.perform(post("/api/tasks/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"tasks":[{"tempId":"a","parentTempId":"b","title":"A","priority":"LOW","listId":%d},
+                                          {"tempId":"b","parentTempId":"a","title":"B","priority":"LOW","listId":%d}]}
+                                """.formatted(listId, listId)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void sparseFieldsetsReturnOnlySelectedFields() throws Exception {
+        long listId = createList();
+        long rootId = createTask(listId, null, "Sparse root");
+        createTask(listId, rootId, "Sparse child");
+
+        mockMvc.perform(get("/api/tasks/list/{listId}", listId).param("fields", "title,completed").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget())
+                .andExpect(jsonPath("$.items[0].id").exists())
+                .andExpect(jsonPath("$.items[0].title").value("Sparse child"))
+                .andExpect(jsonPath("$.items[0].description").doesNotExist())
+                .andExpect(jsonPath("$.next").exists());
+        mockMvc.perform(get("/api/tasks/list/{listId}/tree", listId).param("fields", "title"))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget())
+                .andExpect(jsonPath("$[0].children[0].title").value("Sparse child"))
+                .andExpect(jsonPath("$[0].priority").doesNotExist());
+        for (String view : List.of("today", "all")) {
+            mockMvc.perform(get("/api/tasks/smart-view").param("view", view).param("fields", "title,dueDate,priority"))
+                    .andExpect(status().isOk())
+                    .andExpect(withinStatementBudget())
+                    .andExpect(jsonPath("$.items[0].dueDate").exists())
+                    .andExpect(jsonPath("$.items[0].notes").doesNotExist());
+        }
+        mockMvc.perform(get("/api/tasks/list/{listId}", listId).param("fields", "title,secret"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listEndpointsStayWithinStatementBudget() throws Exception {
+        long listId = createList();
+
+        mockMvc.perform(get("/api/lists"))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+        mockMvc.perform(put("/api/lists/{id}", listId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + uniqueName() + "\"}"))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+        MvcResult deletion = mockMvc.perform(delete("/api/lists/{id}", listId))
+                .andExpect(status().isAccepted())
+                .andExpect(withinStatementBudget())
+                .andReturn();
+        mockMvc.perform(get("/api/lists/deletions/{jobId}", idOf(deletion)))
+                .andExpect(status().isOk())
+                .andExpect(withinStatementBudget());
+        mockMvc.perform(put("/api/lists/{id}", listId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + uniqueName() + "\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unchangedListIsServedNotModifiedFromVersionLookup() throws Exception {
+        long listId = createList();
+        createTask(listId, null, "Cached");
+
+        for (String uri : List.of("/api/tasks/list/{listId}", "/api/tasks/list/{listId}/tree")) {
+            String etag = mockMvc.perform(get(uri, listId))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getHeader(HttpHeaders.ETAG);
+            assertThat(etag).isNotBlank();
+
+            MvcResult notModified = mockMvc.perform(get(uri, listId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andReturn();
+            assertThat(statsOf(notModified).getStatements()).isEqualTo(1);
+
+            createTask(listId, null, "Changed");
+            mockMvc.perform(get(uri, listId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    private void awaitImport(long jobId) throws Exception {
+        Instant deadline = Instant.now().plus(TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            MvcResult result = mockMvc.perform(get("/api/imports/{id}", jobId))
+                    .andExpect(status().isOk())
+                    .andExpect(withinStatementBudget())
+                    .andReturn();
+            String jobStatus = JsonPath.read(result.getResponse().getContentAsString(), "$.status");
+            if (JobStatus.COMPLETED.name().equals(jobStatus)) {
+                return;
+            }
+            assertThat(jobStatus).isNotEqualTo(JobStatus.FAILED.name());
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import " + jobId + " did not finish within " + TIMEOUT);
+    }
+
+    private long createList() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/lists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + uniqueName() + "\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(withinStatementBudget())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private long createTask(long listId, Long parentTaskId, String title) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(taskJson(listId, parentTaskId, title, false)))
+                .andExpect(status().isCreated())
+                .andExpect(withinStatementBudget())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private static String taskJson(long listId, Long parentTaskId, String title, boolean completed) {
+        return """
+                {"title":"%s","priority":"HIGH","completed":%s,"dueDate":"%s","listId":%d,"parentTaskId":%s}
+                """.formatted(title, completed, LocalDate.now(), listId, parentTaskId);
+    }
+
+    private static long idOf(MvcResult result) throws Exception {
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        return id.longValue();
+    }
+
+    private static String uniqueName() {
+        return "Budget " + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,75 @@
+package com.jocelyn.todoapp.importer;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecordReaderTests {
+
+    @Test
+    void ndjsonSkipsBlankLinesAndReadsScalarsAsText() throws IOException {
+        NdjsonRecordReader reader = ndjson("""
+                {"List":"Home","title":"Water plants","completed":true}\r
+
+                {"list":"Home","title":"Nested","extra":{"a":1},"notes":null}
+                """);
+
+        assertThat(reader.next()).containsExactlyInAnyOrderEntriesOf(
+                Map.of("list", "Home", "title", "Water plants", "completed", "true"));
+        assertThat(reader.next()).containsExactlyInAnyOrderEntriesOf(
+                Map.of("list", "Home", "title", "Nested", "extra", "{\"a\":1}"));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void ndjsonReportsBadLinesAndContinuesAfterThem() throws IOException {
+        String tooLong = "{\"title\":\"" + "x".repeat(NdjsonRecordReader.MAX_LINE_LENGTH) + "\"}";
+        NdjsonRecordReader reader = ndjson("{\"title\":\n[1]\n" + tooLong + "\n{\"title\":\"Last\"}");
+
+        assertThatThrownBy(reader::next).isInstanceOf(InvalidRecordException.class)
+                .hasMessageStartingWith("Malformed JSON");
+        assertThatThrownBy(reader::next).isInstanceOf(InvalidRecordException.class)
+                .hasMessage("Expected a JSON object");
+        assertThatThrownBy(reader::next).isInstanceOf(InvalidRecordException.class)
+                .hasMessageContaining("Line exceeds");
+        assertThat(reader.next()).containsEntry("title", "Last");
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void csvHandlesQuotedSeparatorsQuotesAndLineBreaks() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("""
+                List,Title,Notes
+                Home,"Buy milk, eggs","Say ""hi""
+                to the neighbours"
+
+                Work,Report,
+                """));
+
+        assertThat(reader.next()).containsExactlyInAnyOrderEntriesOf(
+                Map.of("list", "Home", "title", "Buy milk, eggs", "notes", "Say \"hi\"\nto the neighbours"));
+        assertThat(reader.next()).containsExactlyInAnyOrderEntriesOf(
+                Map.of("list", "Work", "title", "Report", "notes", ""));
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void csvReportsRowsWithTheWrongFieldCount() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("list,title\nHome\nHome,Ok\n"));
+
+        assertThatThrownBy(reader::next).isInstanceOf(InvalidRecordException.class)
+                .hasMessage("Expected 2 fields but found 1");
+        assertThat(reader.next()).containsEntry("title", "Ok");
+    }
+
+    private static NdjsonRecordReader ndjson(String content) {
+        return new NdjsonRecordReader(new BufferedReader(new StringReader(content)), JsonMapper.builder().build());
+    }
+}
@@ -0,0 +1,198 @@
+package com.jocelyn.todoapp.importer;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jocelyn.todoapp.controller.ImportController;
+import com.jocelyn.todoapp.model.ImportJob;
+import com.jocelyn.todoapp.model.JobStatus;
+import com.jocelyn.todoapp.model.Task;
+import com.jocelyn.todoapp.repository.ImportJobRepository;
+import com.jocelyn.todoapp.repository.TaskListRepository;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class TaskImportServiceTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void importsRecordsAndSkipsInvalidOnes() throws Exception {
+        String list = createList();
+        String file = """
+                {"list":"%1$s","externalId":"a","title":"Parent"}
+                {"list":"%1$s","externalId":"b","parentExternalId":"a","title":"Child","priority":"HIGH"}
+                {"list":"%1$s","title":"Bad priority","priority":"URGENT"}
+                {"list":"%1$s","parentExternalId":"missing","title":"Orphan"}
+                not json
+                """.formatted(list);
+
+        ImportJob job = awaitFinished(start(file));
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getCommittedRecords()).isEqualTo(5);
+        assertThat(job.getCreatedTasks()).isEqualTo(2);
+        assertThat(job.getSkippedRecords()).isEqualTo(3);
+        assertThat(taskRepository.countByTaskListId(listId(list))).isEqualTo(2);
+    }
+
+    @Test
+    void recordsOfUnknownListsAreSkippedAndListNamesIgnoreCase() throws Exception {
+        String list = createList();
+        String unknown = "Import " + UUID.randomUUID();
+        String file = """
+                {"list":"%s","title":"Matched regardless of case"}
+                {"list":"%s","title":"No such list"}
+                """.formatted(list.toLowerCase(Locale.ROOT), unknown);
+
+        ImportJob job = awaitFinished(start(file));
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getCreatedTasks()).isEqualTo(1);
+        assertThat(job.getSkippedRecords()).isEqualTo(1);
+        assertThat(taskRepository.countByTaskListId(listId(list))).isEqualTo(1);
+        assertThat(taskListRepository.findByNameIgnoreCase(unknown)).isEmpty();
+    }
+
+    @Test
+    void tooDeeplyNestedRecordsAreSkippedWithoutFailingTheJob() throws Exception {
+        String list = createList();
+        int depth = Task.MAX_PATH_LENGTH / 4;
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            file.append("{\"list\":\"%s\",\"externalId\":\"n%d\",\"parentExternalId\":%s,\"title\":\"Level %d\"}\n"
+                    .formatted(list, i, i == 0 ? "null" : "\"n" + (i - 1) + "\"", i));
+        }
+
+        ImportJob job = awaitFinished(start(file.toString()));
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getSkippedRecords()).isPositive();
+        assertThat(job.getCreatedTasks() + job.getSkippedRecords()).isEqualTo(depth);
+        assertThat(taskRepository.countByTaskListId(listId(list))).isEqualTo(job.getCreatedTasks());
+    }
+
+    @Test
+    void resumeContinuesAfterTheLastCommittedRecord() throws Exception {
+        String list = createList();
+        StringBuilder file = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            file.append("{\"list\":\"%s\",\"title\":\"Task %d\"}\n".formatted(list, i));
+        }
+        long jobId = start(file.toString());
+        awaitFinished(jobId);
+        failAfter(jobId, 3);
+
+        mockMvc.perform(post("/api/imports/{id}/resume", jobId)
+                        .contentType(ImportController.NDJSON)
+                        .content(file.toString()))
+                .andExpect(status().isAccepted());
+        ImportJob job = awaitFinished(jobId);
+
+        assertThat(job.getStatus()).isEqualTo(JobStatus.COMPLETED);
+        assertThat(job.getCommittedRecords()).isEqualTo(5);
+        assertThat(job.getCreatedTasks()).isEqualTo(5);
+        assertThat(taskRepository.countByTaskListId(listId(list))).isEqualTo(7);
+    }
+
+    @Test
+    void resumeRejectsADifferentFile() throws Exception {
+        String list = createList();
+        long jobId = start("{\"list\":\"%s\",\"title\":\"Only\"}\n".formatted(list));
+        awaitFinished(jobId);
+        failAfter(jobId, 0);
+
+        mockMvc.perform(post("/api/imports/{id}/resume", jobId)
+                        .contentType(ImportController.NDJSON)
+                        .content("{\"list\":\"%s\",\"title\":\"Changed\"}\n".formatted(list)))
+                .andExpect(status().isBadRequest());
+
+        assertThat(importJobRepository.findById(jobId).orElseThrow().getStatus()).isEqualTo(JobStatus.FAILED);
+    }
+
+    private long start(String content) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/imports")
+                        .contentType(ImportController.NDJSON)
+                        .content(content))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        return id.longValue();
+    }
+
+    private ImportJob awaitFinished(long jobId) throws Exception {
+        Instant deadline = Instant.now().plus(TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            MvcResult result = mockMvc.perform(get("/api/imports/{id}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            String jobStatus = JsonPath.read(result.getResponse().getContentAsString(), "$.status");
+            if (JobStatus.COMPLETED.name().equals(jobStatus) || JobStatus.FAILED.name().equals(jobStatus)) {
+                return importJobRepository.findById(jobId).orElseThrow();
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import " + jobId + " did not finish within " + TIMEOUT);
+    }
+
+    /**
+     * Puts a finished job back into the state an interrupted run leaves behind after committing
+     * {@code committedRecords} records.
+     */
+    private void failAfter(long jobId, long committedRecords) {
+        ImportJob job = importJobRepository.findById(jobId).orElseThrow();
+        job.setStatus(JobStatus.FAILED);
+        job.setCommittedRecords(committedRecords);
+        job.setCreatedTasks(committedRecords);
+        importJobRepository.save(job);
+    }
+
+    private long listId(String name) {
+        return taskListRepository.findByNameIgnoreCase(name).orElseThrow().getId();
+    }
+
+    private String createList() throws Exception {
+        String name = "Import " + UUID.randomUUID();
+        mockMvc.perform(post("/api/lists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"" + name + "\"}"))
+                .andExpect(status().isCreated());
+        return name;
+    }
+}
@@ -0,0 +1,105 @@
+package com.jocelyn.todoapp.index;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class TaskSearchIndexTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void titleMatchesRankAboveBodyMatches() throws Exception {
+        long listId = createList();
+        long inNotes = createTask(listId, "Call the bank", "zephyr quarterly");
+        long inTitle = createTask(listId, "Zephyr quarterly review", null);
+        createTask(listId, "Unrelated chore", "nothing to see");
+        taskSearchIndex.awaitPendingChanges();
+
+        TaskSearchIndex.Result result = taskSearchIndex.search("zephyr", listId, null, null, 10);
+
+        assertThat(result.ids()).containsExactly(inTitle, inNotes);
+        assertThat(result.total()).isEqualTo(2);
+    }
+
+    @Test
+    void lastTermMatchesAsPrefixAndEveryTermIsRequired() throws Exception {
+        long listId = createList();
+        long planning = createTask(listId, "Xylophone planning session", null);
+        long planned = createTask(listId, "Xylophone planned repair", null);
+        createTask(listId, "Planning without instruments", null);
+        taskSearchIndex.awaitPendingChanges();
+
+        assertThat(taskSearchIndex.search("xylophone plan", listId, null, null, 10).ids())
+                .containsExactlyInAnyOrder(planning, planned);
+        assertThat(taskSearchIndex.search("xylophone planning", listId, null, null, 10).ids())
+                .containsExactly(planning);
+        assertThat(taskSearchIndex.search("plan xylophone", listId, null, null, 10).ids())
+                .isEmpty();
+    }
+
+    @Test
+    void deletedTasksLeaveTheIndex() throws Exception {
+        long listId = createList();
+        long taskId = createTask(listId, "Quokka feeding", null);
+        taskSearchIndex.awaitPendingChanges();
+        assertThat(taskSearchIndex.search("quokka", listId, null, null, 10).ids()).containsExactly(taskId);
+
+        mockMvc.perform(delete("/api/tasks/{id}", taskId))
+                .andExpect(status().isOk());
+        taskSearchIndex.awaitPendingChanges();
+
+        assertThat(taskSearchIndex.search("quokka", listId, null, null, 10).ids()).isEmpty();
+    }
+
+    private long createList() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/lists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Search " + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private long createTask(long listId, String title, String notes) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title":"%s","notes":%s,"priority":"LOW","listId":%d}
+                                """.formatted(title, notes != null ? "\"" + notes + "\"" : null, listId)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private static long idOf(MvcResult result) throws Exception {
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        return id.longValue();
+    }
+}
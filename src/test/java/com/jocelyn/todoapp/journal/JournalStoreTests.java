@@ -0,0 +1,158 @@
+package com.jocelyn.todoapp.journal;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jocelyn.todoapp.config.JournalProperties;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:journal-tests;DB_CLOSE_DELAY=-1",
+        "todoapp.journal.enabled=true",
+        "todoapp.journal.segment-size=1MB",
+        "todoapp.journal.snapshot-interval=1h"
+})
+@DirtiesContext
+class JournalStoreTests {
+
+    private static final List<String> TABLES = List.of("task_lists", "tasks", "task_tombstones", "archived_tasks",
+            "import_jobs", "task_import_refs", "list_deletion_jobs");
+
+    @TempDir
+    static Path root;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private JournalStore journalStore;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private MockMvc mockMvc;
+
+    @DynamicPropertySource
+    static void journalDirectory(DynamicPropertyRegistry registry) {
+        registry.add("todoapp.journal.directory", () -> root.resolve("journal").toString());
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void restartRestoresSnapshotPlusJournalTail() throws Exception {
+        long listId = createList();
+        long parentId = createTask(listId, null, "Parent");
+        long childId = createTask(listId, parentId, "Child");
+        long doomedId = createTask(listId, null, "Doomed");
+        journalStore.snapshot();
+
+        mockMvc.perform(patch("/api/tasks/{id}", childId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\":\"Renamed child\",\"completed\":true}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/tasks/{id}", doomedId))
+                .andExpect(status().isOk());
+        createTask(listId, parentId, "Added after the snapshot");
+
+        Path restoredDirectory = copyOf(root.resolve("journal"), root.resolve("restored-" + UUID.randomUUID()));
+        JdbcDataSource restoredDatabase = new JdbcDataSource();
+        restoredDatabase.setURL("jdbc:h2:mem:journal-restored-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        restoredDatabase.setUser("sa");
+        Flyway.configure().dataSource(restoredDatabase).load().migrate();
+
+        JournalStore restored = new JournalStore(restoredDatabase, properties(restoredDirectory),
+                new DataSourceTransactionManager(restoredDatabase));
+        try {
+            restored.start();
+
+            JdbcTemplate original = new JdbcTemplate(dataSource);
+            JdbcTemplate copy = new JdbcTemplate(restoredDatabase);
+            for (String table : TABLES) {
+                String sql = "SELECT * FROM " + table + " ORDER BY id";
+                assertThat(copy.queryForList(sql)).as(table).isEqualTo(original.queryForList(sql));
+            }
+        } finally {
+            restored.stop();
+            JournalTrigger.attach(journalStore);
+        }
+    }
+
+    private static JournalProperties properties(Path directory) {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        properties.setSegmentSize(DataSize.ofMegabytes(1));
+        return properties;
+    }
+
+    /**
+     * Copies the journal directory as a crash would leave it: the live journal stays open.
+     */
+    private static Path copyOf(Path source, Path target) throws IOException {
+        Files.createDirectories(target);
+        try (Stream<Path> files = Files.list(source)) {
+            for (Path file : files.toList()) {
+                Files.copy(file, target.resolve(file.getFileName()));
+            }
+        }
+        return target;
+    }
+
+    private long createList() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/lists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Journal " + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private long createTask(long listId, Long parentTaskId, String title) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title":"%s","priority":"LOW","listId":%d,"parentTaskId":%s}
+                                """.formatted(title, listId, parentTaskId)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private static long idOf(MvcResult result) throws Exception {
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        return id.longValue();
+    }
+}
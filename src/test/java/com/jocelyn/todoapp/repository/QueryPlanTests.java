@@ -0,0 +1,206 @@
+package com.jocelyn.todoapp.repository;
+
+import com.jocelyn.todoapp.sql.SqlStatementStats;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.DynamicTest.dynamicTest;
+
+/**
+ * Checks that each hot repository query is planned against the index the migrations create for
+ * it rather than a table scan. The SQL is the statement Hibernate actually generates, captured
+ * through {@link SqlStatementStats#capture()}, with its parameters inlined as literals so that H2
+ * plans it the way it would for real values (a {@code LIKE} prefix only uses an index when the
+ * pattern is known).
+ */
+@SpringBootTest
+class QueryPlanTests {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 1, 1);
+    private static final LocalDateTime TIME = DAY.atStartOfDay();
+
+    private static final Pattern PAGING = Pattern.compile("(?:fetch\\s+(?:first|next)|offset|limit)\\s*$");
+    private static final Pattern STRING_OPERAND = Pattern.compile("(?:like|upper\\()\\s*$");
+    private static final Pattern COMPARED_COLUMN = Pattern.compile(
+            "([a-z][a-z0-9_]*)\\s*(?:=|<>|<=|>=|<|>|\\s(?:in\\s*\\(|between\\b))");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private TaskTombstoneRepository taskTombstoneRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TestFactory
+    Stream<DynamicTest> queriesUseTheirIndex() {
+        return Stream.of(
+                indexSorted("findByTaskListIdOrderByTaskListIdDescCreatedAtDescIdDesc", "idx_tasks_list_created",
+                        () -> taskRepository.findByTaskListIdOrderByTaskListIdDescCreatedAtDescIdDesc(
+                                1L, ScrollPosition.keyset(), Limit.of(50))),
+                indexSorted("findByTaskListIdOrderByTaskListIdDescCreatedAtDescIdDesc, next page",
+                        "idx_tasks_list_created",
+                        () -> taskRepository.findByTaskListIdOrderByTaskListIdDescCreatedAtDescIdDesc(
+                                1L, ScrollPosition.forward(Map.of("taskList.id", 1L, "createdAt", TIME, "id", 1L)),
+                                Limit.of(50))),
+                indexSorted("findTreeRowsByListId", "idx_tasks_list_created",
+                        () -> taskRepository.findTreeRowsByListId(1L)),
+                indexSorted("findRows for a list", "idx_tasks_list_created",
+                        () -> taskRepository.findRows(EnumSet.of(TaskField.TITLE),
+                                TaskRowQuery.forList(1L).after(TIME, 1L), Limit.of(51))),
+                planned("countByTaskListId", "idx_tasks_list_",
+                        () -> taskRepository.countByTaskListId(1L)),
+                planned("findSnapshotsByListId", "idx_tasks_list_",
+                        () -> taskRepository.findSnapshotsByListId(1L, Limit.of(1000))),
+                planned("findByParentTaskIdOrderByCreatedAtAsc", "idx_tasks_parent_created",
+                        () -> taskRepository.findByParentTaskIdOrderByCreatedAtAsc(1L)),
+                planned("clearParentReferences", "idx_tasks_parent_created",
+                        () -> taskRepository.clearParentReferences(List.of(1L, 2L, 3L))),
+                planned("findByDueDateOrderByCreatedAtDescIdDesc", "idx_tasks_due_created",
+                        () -> taskRepository.findByDueDateOrderByCreatedAtDescIdDesc(
+                                DAY, ScrollPosition.keyset(), Limit.of(50))),
+                planned("findByDueDateBetweenOrderByCreatedAtDescIdDesc", "idx_tasks_due_created",
+                        () -> taskRepository.findByDueDateBetweenOrderByCreatedAtDescIdDesc(
+                                DAY, DAY.plusDays(6), ScrollPosition.keyset(), Limit.of(50))),
+                planned("findByDueDateBeforeAndCompletedFalseOrderByCreatedAtDescIdDesc", "idx_tasks_open_due",
+                        () -> taskRepository.findByDueDateBeforeAndCompletedFalseOrderByCreatedAtDescIdDesc(
+                                DAY, ScrollPosition.keyset(), Limit.of(50))),
+                planned("findMaxPathLength", "idx_tasks_path",
+                        () -> taskRepository.findMaxPathLength("/1/%")),
+                planned("findChangedSince", "idx_tasks_list_updated",
+                        () -> taskRepository.findChangedSince(1L, TIME, 0L, TIME.plusDays(1), Limit.of(100))),
+                planned("findByNameIgnoreCase", "uk_task_lists_name_key",
+                        () -> taskListRepository.findByNameIgnoreCase("Work")),
+                planned("tombstones findChangedSince", "idx_task_tombstones_list_deleted",
+                        () -> taskTombstoneRepository.findChangedSince(
+                                1L, TIME, 0L, TIME.plusDays(1), Limit.of(100))),
+                planned("archived deleteByRootId", "idx_archived_tasks_root",
+                        () -> archivedTaskRepository.deleteByRootId(1L)),
+                planned("archived search", "idx_archived_tasks_list",
+                        () -> archivedTaskRepository.search(1L, "%WORK%", 100L, Limit.of(50))));
+    }
+
+    private DynamicTest planned(String query, String index, Runnable call) {
+        return dynamicTest(query, () -> {
+            for (String plan : plans(query, call)) {
+                assertThat(plan)
+                        .as("plan for %s", query)
+                        .containsIgnoringCase(index)
+                        .doesNotContainIgnoringCase("tableScan");
+            }
+        });
+    }
+
+    /**
+     * Like {@link #planned}, and the rows must also come out of the index already in order instead
+     * of being sorted in memory.
+     */
+    private DynamicTest indexSorted(String query, String index, Runnable call) {
+        return dynamicTest(query, () -> {
+            for (String plan : plans(query, call)) {
+                assertThat(plan)
+                        .as("plan for %s", query)
+                        .containsIgnoringCase(index)
+                        .contains("/* index sorted */");
+            }
+        });
+    }
+
+    private List<String> plans(String query, Runnable call) {
+        List<String> statements = capture(call);
+        assertThat(statements).as("statements of %s", query).isNotEmpty();
+        return statements.stream()
+                .map(sql -> jdbcTemplate.queryForObject("EXPLAIN " + withLiterals(sql), String.class))
+                .toList();
+    }
+
+    private List<String> capture(Runnable call) {
+        SqlStatementStats stats = SqlStatementStats.capture();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                call.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            SqlStatementStats.stop();
+        }
+        return stats.getSql();
+    }
+
+    /**
+     * Replaces every {@code ?} placeholder with a literal of the type of the column it is compared
+     * with, or with {@code 1} for paging clauses and id lists.
+     */
+    private static String withLiterals(String sql) {
+        StringBuilder result = new StringBuilder(sql.length() + 64);
+        boolean quoted = false;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                result.append(literalAfter(result.toString().toLowerCase(Locale.ROOT)));
+            } else {
+                result.append(c);
+            }
+        }
+        return result.toString();
+    }
+
+    private static String literalAfter(String preceding) {
+        if (PAGING.matcher(preceding).find()) {
+            return "1";
+        }
+        if (STRING_OPERAND.matcher(preceding).find()) {
+            return "'/1/%'";
+        }
+        String column = null;
+        Matcher matcher = COMPARED_COLUMN.matcher(preceding);
+        while (matcher.find()) {
+            column = matcher.group(1);
+        }
+        if (column == null) {
+            return "1";
+        }
+        if (column.endsWith("_date")) {
+            return "DATE '" + DAY + "'";
+        }
+        if (column.endsWith("_at")) {
+            return "TIMESTAMP '" + TIME.toLocalDate() + " 00:00:00'";
+        }
+        return switch (column) {
+            case "completed", "deleting" -> "FALSE";
+            case "path", "name", "name_key", "title", "notes" -> "'/1/%'";
+            default -> "1";
+        };
+    }
+}
@@ -0,0 +1,145 @@
+package com.jocelyn.todoapp.service;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jocelyn.todoapp.repository.ArchivedTaskRepository;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "todoapp.archive.enabled=false",
+        "todoapp.archive.completed-age=0s"
+})
+class TaskArchiveServiceTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TaskArchiveService taskArchiveService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ArchivedTaskRepository archivedTaskRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void completedSubtreeIsArchivedAndRestoredUnderItsParent() throws Exception {
+        long listId = createList();
+        long parentId = createTask(listId, null, "Open parent", false);
+        long rootId = createTask(listId, parentId, "Done root", true);
+        long childId = createTask(listId, rootId, "Done child", true);
+
+        taskArchiveService.archiveCompleted();
+
+        assertThat(taskRepository.existsById(rootId)).isFalse();
+        assertThat(taskRepository.existsById(childId)).isFalse();
+        assertThat(archivedTaskRepository.findById(childId).orElseThrow().getRootId()).isEqualTo(rootId);
+        assertThat(taskRepository.existsById(parentId)).isTrue();
+
+        mockMvc.perform(post("/api/archive/tasks/{id}/restore", childId))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/archive/tasks/{id}/restore", rootId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.parentTaskId").value(parentId));
+
+        assertThat(archivedTaskRepository.findById(rootId)).isEmpty();
+        mockMvc.perform(get("/api/tasks/{id}/subtree", rootId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.children[0].id").value(childId));
+    }
+
+    @Test
+    void completedTaskBelowAnAncestorThatStaysIsStillArchived() throws Exception {
+        long listId = createList();
+        long ancestorId = createTask(listId, null, "Done ancestor", true);
+        long openId = createTask(listId, ancestorId, "Open middle", false);
+        long leafId = createTask(listId, openId, "Done leaf", true);
+
+        taskArchiveService.archiveCompleted();
+
+        assertThat(taskRepository.existsById(ancestorId)).isTrue();
+        assertThat(taskRepository.existsById(openId)).isTrue();
+        assertThat(taskRepository.existsById(leafId)).isFalse();
+        assertThat(archivedTaskRepository.findById(leafId).orElseThrow().getRootId()).isEqualTo(leafId);
+    }
+
+    @Test
+    void searchPagesWithAnOpaqueCursor() throws Exception {
+        long listId = createList();
+        long first = createTask(listId, null, "Archived one", true);
+        long second = createTask(listId, null, "Archived two", true);
+        long third = createTask(listId, null, "Archived three", true);
+        taskArchiveService.archiveCompleted();
+
+        MvcResult page = mockMvc.perform(get("/api/archive/tasks")
+                        .param("listId", String.valueOf(listId))
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(2))
+                .andExpect(jsonPath("$.items[0].id").value(third))
+                .andExpect(jsonPath("$.items[1].id").value(second))
+                .andReturn();
+        String next = JsonPath.read(page.getResponse().getContentAsString(), "$.next");
+        assertThat(next).isNotEqualTo(String.valueOf(second));
+
+        mockMvc.perform(get("/api/archive/tasks")
+                        .param("listId", String.valueOf(listId))
+                        .param("size", "2")
+                        .param("cursor", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].id").value(first))
+                .andExpect(jsonPath("$.next").doesNotExist());
+        mockMvc.perform(get("/api/archive/tasks").param("cursor", "not a cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private long createList() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/lists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Archive " + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private long createTask(long listId, Long parentTaskId, String title, boolean completed) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title":"%s","priority":"LOW","completed":%b,"listId":%d,"parentTaskId":%s}
+                                """.formatted(title, completed, listId, parentTaskId)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private static long idOf(MvcResult result) throws Exception {
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        return id.longValue();
+    }
+}
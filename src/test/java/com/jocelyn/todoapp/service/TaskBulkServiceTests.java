@@ -0,0 +1,97 @@
+package com.jocelyn.todoapp.service;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "todoapp.bulk.max-tasks=3")
+class TaskBulkServiceTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void descendantsCountTowardsTheTaskCap() throws Exception {
+        long listId = createList();
+        long rootId = createTask(listId, null, "Root");
+        long childId = createTask(listId, rootId, "Child");
+        long grandchildId = createTask(listId, childId, "Grandchild");
+        long otherId = createTask(listId, null, "Other");
+        long otherChildId = createTask(listId, otherId, "Other child");
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"operations":[{"type":"DELETE","ids":[%d,%d]}]}
+                                """.formatted(rootId, otherId)))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"operations":[{"type":"MOVE","targetListId":%d,"ids":[%d,%d]}]}
+                                """.formatted(createList(), rootId, otherId)))
+                .andExpect(status().isBadRequest());
+        assertThat(taskRepository.findAllById(List.of(rootId, childId, grandchildId, otherId, otherChildId)))
+                .hasSize(5)
+                .allMatch(task -> task.getTaskList().getId() == listId);
+
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"operations":[{"type":"DELETE","ids":[%d]}]}
+                                """.formatted(rootId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].affected").value(3));
+    }
+
+    private long createList() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/lists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Bulk " + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private long createTask(long listId, Long parentTaskId, String title) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title":"%s","priority":"LOW","listId":%d,"parentTaskId":%s}
+                                """.formatted(title, listId, parentTaskId)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private static long idOf(MvcResult result) throws Exception {
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        return id.longValue();
+    }
+}
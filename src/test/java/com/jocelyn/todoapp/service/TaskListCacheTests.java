@@ -0,0 +1,40 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.config.CacheProperties;
+import com.jocelyn.todoapp.model.TaskList;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskListCacheTests {
+
+    private final TaskListCache cache = new TaskListCache(new CacheProperties());
+
+    @Test
+    void loaderThatStartedBeforeAPutDoesNotOverwriteIt() {
+        long loadedAt = cache.generation();
+        cache.put(list(1L, "Renamed"));
+
+        cache.putLoaded(list(1L, "Original"), loadedAt);
+        cache.putAll(List.of(list(1L, "Original")), loadedAt);
+
+        assertThat(cache.get(1L)).hasValueSatisfying(cached -> assertThat(cached.getName()).isEqualTo("Renamed"));
+        assertThat(cache.findIdByName("Original")).isEmpty();
+    }
+
+    @Test
+    void loaderWithACurrentGenerationIsCached() {
+        cache.putLoaded(list(1L, "Inbox"), cache.generation());
+
+        assertThat(cache.findIdByName("inbox")).contains(1L);
+    }
+
+    private static TaskList list(Long id, String name) {
+        return TaskList.builder()
+                .id(id)
+                .name(name)
+                .build();
+    }
+}
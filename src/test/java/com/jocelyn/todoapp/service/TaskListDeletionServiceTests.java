@@ -0,0 +1,168 @@
+package com.jocelyn.todoapp.service;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jocelyn.todoapp.index.TaskListCounters;
+import com.jocelyn.todoapp.index.TaskSearchIndex;
+import com.jocelyn.todoapp.model.JobStatus;
+import com.jocelyn.todoapp.model.TaskList;
+import com.jocelyn.todoapp.repository.TaskListRepository;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "todoapp.bulk.statement-chunk-size=7")
+class TaskListDeletionServiceTests {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Autowired
+    private TaskListCounters taskListCounters;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void deletionRemovesEveryTaskTheListAndTheirIndexEntries() throws Exception {
+        long listId = createList();
+        long parentId = createTask(listId, null, "Pelican parent");
+        for (int i = 0; i < 20; i++) {
+            createTask(listId, i % 2 == 0 ? parentId : null, "Pelican " + i);
+        }
+        taskSearchIndex.awaitPendingChanges();
+        assertThat(taskListCounters.total(listId)).isEqualTo(21);
+
+        MvcResult deletion = mockMvc.perform(delete("/api/lists/{id}", listId))
+                .andExpect(status().isAccepted())
+                .andReturn();
+        awaitCompleted(idOf(deletion));
+        taskSearchIndex.awaitPendingChanges();
+
+        assertThat(taskRepository.countByTaskListId(listId)).isZero();
+        assertThat(taskListRepository.existsById(listId)).isFalse();
+        assertThat(taskListCounters.total(listId)).isZero();
+        assertThat(taskSearchIndex.search("pelican", listId, null, null, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void tasksOfAListBeingDeletedCannotBeChanged() throws Exception {
+        long listId = createList();
+        long taskId = createTask(listId, null, "Frozen");
+        TaskList taskList = taskListRepository.findById(listId).orElseThrow();
+        taskList.setDeleting(true);
+        taskListRepository.save(taskList);
+
+        mockMvc.perform(patch("/api/tasks/{id}", taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\":\"Thawed\"}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(put("/api/tasks/{id}/move", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"listId\":" + createList() + "}"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"type\":\"COMPLETE\",\"ids\":[" + taskId + "]}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].affected").value(0));
+
+        assertThat(taskRepository.findById(taskId).orElseThrow().getTitle()).isEqualTo("Frozen");
+    }
+
+    @Test
+    void tasksOfAListBeingDeletedLeaveTheAllView() throws Exception {
+        long listId = createList();
+        long taskId = createTask(listId, null, "Hidden");
+        TaskList taskList = taskListRepository.findById(listId).orElseThrow();
+        taskList.setDeleting(true);
+        taskListRepository.save(taskList);
+
+        for (String fields : new String[]{"", "id,title"}) {
+            MvcResult page = mockMvc.perform(get("/api/tasks/smart-view")
+                            .param("view", "all")
+                            .param("size", "100")
+                            .param("fields", fields))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            List<Number> ids = JsonPath.read(page.getResponse().getContentAsString(), "$.items[*].id");
+            assertThat(ids).extracting(Number::longValue).doesNotContain(taskId);
+        }
+    }
+
+    private void awaitCompleted(long jobId) throws Exception {
+        Instant deadline = Instant.now().plus(TIMEOUT);
+        while (Instant.now().isBefore(deadline)) {
+            MvcResult result = mockMvc.perform(get("/api/lists/deletions/{jobId}", jobId))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            String jobStatus = JsonPath.read(result.getResponse().getContentAsString(), "$.status");
+            if (JobStatus.COMPLETED.name().equals(jobStatus)) {
+                return;
+            }
+            assertThat(jobStatus).isNotEqualTo(JobStatus.FAILED.name());
+            Thread.sleep(50);
+        }
+        throw new AssertionError("List deletion " + jobId + " did not finish within " + TIMEOUT);
+    }
+
+    private long createList() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/lists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Deletion " + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private long createTask(long listId, Long parentTaskId, String title) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title":"%s","priority":"LOW","listId":%d,"parentTaskId":%s}
+                                """.formatted(title, listId, parentTaskId)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private static long idOf(MvcResult result) throws Exception {
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        return id.longValue();
+    }
+}
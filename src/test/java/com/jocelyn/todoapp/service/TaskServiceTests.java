@@ -0,0 +1,154 @@
+package com.jocelyn.todoapp.service;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jocelyn.todoapp.repository.TaskListRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class TaskServiceTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void updateWithinTheSameListBumpsItsVersionOnce() throws Exception {
+        long listId = createList();
+        long taskId = createTask(listId, null, "Original");
+        long versionBefore = dataVersion(listId);
+
+        mockMvc.perform(put("/api/tasks/{id}", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title":"Updated","priority":"HIGH","listId":%d}
+                                """.formatted(listId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Updated"))
+                .andExpect(jsonPath("$.listId").value(listId));
+
+        assertThat(dataVersion(listId)).isEqualTo(versionBefore + 1);
+    }
+
+    @Test
+    void moveWithinTheSameListReparentsTheTask() throws Exception {
+        long listId = createList();
+        long parentId = createTask(listId, null, "Parent");
+        long taskId = createTask(listId, null, "Child");
+        long versionBefore = dataVersion(listId);
+
+        mockMvc.perform(put("/api/tasks/{id}/move", taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"listId\":%d,\"parentTaskId\":%d}".formatted(listId, parentId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.listId").value(listId))
+                .andExpect(jsonPath("$.parentTaskId").value(parentId));
+
+        assertThat(dataVersion(listId)).isEqualTo(versionBefore + 1);
+    }
+
+    @Test
+    void patchWithinTheSameListKeepsTheTaskInIt() throws Exception {
+        long listId = createList();
+        long taskId = createTask(listId, null, "Toggle me");
+        long versionBefore = dataVersion(listId);
+
+        mockMvc.perform(patch("/api/tasks/{id}", taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"completed\":true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.listId").value(listId));
+        mockMvc.perform(patch("/api/tasks/{id}", taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"listId\":%d,\"title\":\"Toggled\"}".formatted(listId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Toggled"))
+                .andExpect(jsonPath("$.listId").value(listId));
+
+        assertThat(dataVersion(listId)).isEqualTo(versionBefore + 2);
+    }
+
+    @Test
+    void listPagesFollowTheirCursor() throws Exception {
+        long listId = createList();
+        long first = createTask(listId, null, "First");
+        long second = createTask(listId, null, "Second");
+        long third = createTask(listId, null, "Third");
+
+        for (String fields : new String[]{"", "id,title"}) {
+            MvcResult page = mockMvc.perform(get("/api/tasks/list/{listId}", listId)
+                            .param("size", "2")
+                            .param("fields", fields))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].id").value(third))
+                    .andExpect(jsonPath("$.items[1].id").value(second))
+                    .andReturn();
+            String next = JsonPath.read(page.getResponse().getContentAsString(), "$.next");
+
+            mockMvc.perform(get("/api/tasks/list/{listId}", listId)
+                            .param("size", "2")
+                            .param("fields", fields)
+                            .param("cursor", next))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(1))
+                    .andExpect(jsonPath("$.items[0].id").value(first))
+                    .andExpect(jsonPath("$.next").doesNotExist());
+        }
+    }
+
+    private long dataVersion(long listId) {
+        return taskListRepository.findDataVersionById(listId).orElseThrow();
+    }
+
+    private long createList() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/lists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Tasks " + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private long createTask(long listId, Long parentTaskId, String title) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title":"%s","priority":"LOW","listId":%d,"parentTaskId":%s}
+                                """.formatted(title, listId, parentTaskId)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(result);
+    }
+
+    private static long idOf(MvcResult result) throws Exception {
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        return id.longValue();
+    }
+}
@@ -0,0 +1,62 @@
+package com.jocelyn.todoapp.service;
+
+import com.jocelyn.todoapp.exception.ServiceUnavailableException;
+import com.jocelyn.todoapp.model.TaskList;
+import com.jocelyn.todoapp.repository.TaskListRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "todoapp.sync.max-transaction-duration=200ms")
+class TransactionDurationGuardTests {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TaskListRepository taskListRepository;
+
+    @Test
+    void writeRunningPastTheCapIsRolledBack() {
+        String name = "Slow " + UUID.randomUUID();
+
+        assertThatThrownBy(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            insertList(name);
+            sleep(400);
+        })).isInstanceOf(ServiceUnavailableException.class);
+
+        assertThat(taskListRepository.findAll()).noneMatch(list -> list.getName().equals(name));
+    }
+
+    @Test
+    void writeWithinTheCapAndSlowReadsCommit() {
+        String name = "Quick " + UUID.randomUUID();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> insertList(name));
+
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> sleep(400));
+
+        assertThat(taskListRepository.findAll()).anyMatch(list -> list.getName().equals(name));
+    }
+
+    private void insertList(String name) {
+        taskListRepository.saveAndFlush(TaskList.builder().name(name).build());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.jocelyn.todoapp.sql;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.web.method.HandlerMethod;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    public static ResultMatcher withinStatementBudget() {
+        return SqlStatementAssertions::assertWithinBudget;
+    }
+
+    public static void assertWithinBudget(MvcResult result) {
+        assertThat(result.getHandler()).isInstanceOf(HandlerMethod.class);
+        HandlerMethod handler = (HandlerMethod) result.getHandler();
+        StatementBudget budget = handler.getMethodAnnotation(StatementBudget.class);
+        assertThat(budget)
+                .as("@StatementBudget on %s", handler.getShortLogMessage())
+                .isNotNull();
+
+        SqlStatementStats stats = statsOf(result);
+        assertThat(stats.getStatements())
+                .as("SQL statements issued by %s", handler.getShortLogMessage())
+                .isLessThanOrEqualTo(budget.value());
+    }
+
+    public static SqlStatementStats statsOf(MvcResult result) {
+        Object stats = result.getRequest().getAttribute(SqlStatementStats.REQUEST_ATTRIBUTE);
+        assertThat(stats)
+                .as("SQL statement stats recorded by SqlStatementFilter")
+                .isInstanceOf(SqlStatementStats.class);
+        return (SqlStatementStats) stats;
+    }
+}
@@ -0,0 +1,156 @@
+package com.jocelyn.todoapp.writebehind;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jocelyn.todoapp.model.Priority;
+import com.jocelyn.todoapp.model.Task;
+import com.jocelyn.todoapp.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "todoapp.write-behind.enabled=true",
+        "todoapp.write-behind.flush-interval=1h"
+})
+class TaskWriteBufferTests {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private TaskWriteBuffer taskWriteBuffer;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void repeatedFlipsAreCoalescedIntoOneUpdate() throws Exception {
+        long taskId = createTask();
+        long versionBefore = storedTask(taskId).getVersion();
+
+        patchFlags(taskId, "{\"completed\":true}", null);
+        patchFlags(taskId, "{\"priority\":\"LOW\"}", null);
+        patchFlags(taskId, "{\"completed\":false}", null);
+        patchFlags(taskId, "{\"completed\":true}", null);
+        assertThat(storedTask(taskId).isCompleted()).isFalse();
+
+        taskWriteBuffer.flush();
+
+        Task stored = storedTask(taskId);
+        assertThat(stored.isCompleted()).isTrue();
+        assertThat(stored.getPriority()).isEqualTo(Priority.LOW);
+        assertThat(stored.getVersion()).isEqualTo(versionBefore + 1);
+    }
+
+    @Test
+    void patchResponseIncludesEarlierBufferedWrites() throws Exception {
+        long taskId = createTask();
+
+        patchFlags(taskId, "{\"completed\":true}", null);
+        mockMvc.perform(patch("/api/tasks/{id}", taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"priority\":\"LOW\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true))
+                .andExpect(jsonPath("$.priority").value("LOW"));
+    }
+
+    @Test
+    void clientReadsItsOwnBufferedWrites() throws Exception {
+        long taskId = createTask();
+        String clientId = UUID.randomUUID().toString();
+
+        patchFlags(taskId, "{\"completed\":true}", clientId);
+
+        mockMvc.perform(get("/api/tasks/{id}/subtree", taskId)
+                        .header(TaskWriteBuffer.CLIENT_ID_HEADER, clientId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed").value(true));
+        assertThat(storedTask(taskId).isCompleted()).isTrue();
+    }
+
+    @Test
+    void regularWriteFlushesBufferedFlagsFirst() throws Exception {
+        long taskId = createTask();
+
+        patchFlags(taskId, "{\"completed\":true}", null);
+        mockMvc.perform(patch("/api/tasks/{id}", taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"title\":\"Renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Renamed"))
+                .andExpect(jsonPath("$.completed").value(true));
+    }
+
+    @Test
+    @DirtiesContext
+    void shutdownFlushesBufferedWrites() throws Exception {
+        long taskId = createTask();
+
+        patchFlags(taskId, "{\"completed\":true,\"priority\":\"LOW\"}", null);
+        taskWriteBuffer.flushOnShutdown();
+
+        Task stored = storedTask(taskId);
+        assertThat(stored.isCompleted()).isTrue();
+        assertThat(stored.getPriority()).isEqualTo(Priority.LOW);
+    }
+
+    private void patchFlags(long taskId, String body, String clientId) throws Exception {
+        MockHttpServletRequestBuilder request = patch("/api/tasks/{id}", taskId)
+                .contentType("application/merge-patch+json")
+                .content(body);
+        if (clientId != null) {
+            request.header(TaskWriteBuffer.CLIENT_ID_HEADER, clientId);
+        }
+        mockMvc.perform(request).andExpect(status().isOk());
+    }
+
+    private Task storedTask(long taskId) {
+        return taskRepository.findById(taskId).orElseThrow();
+    }
+
+    private long createTask() throws Exception {
+        MvcResult list = mockMvc.perform(post("/api/lists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Buffered " + UUID.randomUUID() + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn();
+        MvcResult task = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"title":"Buffered","priority":"HIGH","listId":%d}
+                                """.formatted(idOf(list))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        return idOf(task);
+    }
+
+    private static long idOf(MvcResult result) throws Exception {
+        Number id = JsonPath.read(result.getResponse().getContentAsString(), "$.id");
+        return id.longValue();
+    }
+}